@@ -1,7 +1,6 @@
 package com.orangeslices.bossencounters;
 
 import org.bukkit.ChatColor;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -18,22 +17,20 @@ public final class BossCombatListener implements Listener {
     @EventHandler
     public void onBossDeath(EntityDeathEvent event) {
         if (!(event.getEntity() instanceof LivingEntity boss)) return;
-        if (!plugin.bossApplier().isBoss(boss)) return;
+        BossState state = plugin.bossRegistry().get(boss);
+        if (state == null) return;
 
         // cancel despawn task
         plugin.cancelBossDespawn(boss.getUniqueId());
 
-        FileConfiguration cfg = plugin.getConfig();
+        BossEncountersSettings settings = plugin.settings();
 
         // XP wiring (your current setup)
         int baseExp = event.getDroppedExp();
-        double globalMult = cfg.getDouble("rewards.xp_multiplier", 1.0);
+        double globalMult = settings.xpMultiplier;
 
-        String rank = plugin.bossApplier().getRank(boss);
-        double rankMult = 1.0;
-        if (rank != null && !rank.isBlank()) {
-            rankMult = cfg.getDouble("ranks." + rank + ".xp_multiplier", 1.0);
-        }
+        BossEncountersSettings.Rank rankDef = settings.rank(state.rank);
+        double rankMult = (rankDef != null) ? rankDef.xpMultiplier : 1.0;
 
         double raw = baseExp * globalMult * rankMult;
         int finalExp;
@@ -44,27 +41,25 @@ public final class BossCombatListener implements Listener {
         event.setDroppedExp(finalExp);
 
         // Death message (local)
-        if (cfg.getBoolean("messages.enabled", true) && cfg.getBoolean("messages.death.enabled", true)) {
-            double radius = cfg.getDouble("messages.radius", 40.0);
-            String format = cfg.getString("messages.death.format",
-                    "&aDefeated: {rank_color}[{rank_label}] &r{title}{mob} &e(+{rank_xp}x XP)");
-
-            String msg = formatDeathMessage(boss, format);
-            plugin.broadcastLocal(boss.getLocation(), radius, msg);
+        BossEncountersSettings.Messages messages = settings.messages;
+        if (messages.enabled && messages.deathEnabled) {
+            String msg = formatDeathMessage(boss, state, settings, messages.deathFormat);
+            plugin.broadcastLocal(boss.getLocation(), messages.radius, msg);
         }
     }
 
-    private String formatDeathMessage(LivingEntity boss, String format) {
-        String rank = plugin.bossApplier().getRank(boss);
-        String rankLabel = (rank != null) ? plugin.getConfig().getString("ranks." + rank + ".label", rank) : "Boss";
-        String rankColor = (rank != null) ? plugin.getConfig().getString("ranks." + rank + ".color", "&c") : "&c";
-        String title = plugin.bossApplier().getTitle(boss);
+    private String formatDeathMessage(LivingEntity boss, BossState state, BossEncountersSettings settings, String format) {
+        String rank = state.rank;
+        BossEncountersSettings.Rank rankDef = settings.rank(rank);
+        String rankLabel = (rank != null) ? (rankDef != null ? rankDef.label : rank) : "Boss";
+        String rankColor = (rankDef != null && rankDef.color != null) ? rankDef.color : "&c";
+        String title = state.title;
         String titlePart = (title != null && !title.isBlank()) ? "[" + title + "] " : "";
 
         String mobName = boss.getType().name().toLowerCase().replace('_', ' ');
         mobName = Character.toUpperCase(mobName.charAt(0)) + mobName.substring(1);
 
-        double rankXp = (rank != null) ? plugin.getConfig().getDouble("ranks." + rank + ".xp_multiplier", 1.0) : 1.0;
+        double rankXp = (rankDef != null) ? rankDef.xpMultiplier : 1.0;
 
         return ChatColor.translateAlternateColorCodes('&',
                 format
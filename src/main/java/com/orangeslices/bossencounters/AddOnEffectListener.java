@@ -1,23 +1,33 @@
 package com.orangeslices.bossencounters;
 
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import io.papermc.paper.persistence.PersistentDataContainerView;
 import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
-import java.util.HashMap;
+import java.lang.ref.WeakReference;
 import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Weapon add-on effects (sharpening, player marks) on player hits.
+ * Hits are routed here by DamageDispatcher; the events below only drop mark bookkeeping
+ * when the marking player quits or the marked entity dies / leaves the world.
+ */
 public final class AddOnEffectListener implements Listener {
 
     private final BossEncountersPlugin plugin;
@@ -31,8 +41,10 @@ public final class AddOnEffectListener implements Listener {
     private final NamespacedKey markedByKey;
     private final NamespacedKey markedUntilKey;
 
-    // One marked target per player (player UUID -> entity UUID)
-    private final Map<UUID, UUID> currentMarkedTarget = new HashMap<>();
+    // One marked target per player, plus target -> last marking player for clean-up.
+    // Concurrent: hits land on many regions on Folia. The entity is only weakly held.
+    private final Map<UUID, Mark> markByPlayer = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> markerByTarget = new ConcurrentHashMap<>();
 
     // Spec constants
     private static final int MARK_SECONDS = 6;
@@ -48,35 +60,34 @@ public final class AddOnEffectListener implements Listener {
         this.markedUntilKey = new NamespacedKey(plugin, "marked_until");
     }
 
-    @EventHandler
-    public void onDamage(EntityDamageByEntityEvent event) {
-        // Only player melee hits (damager must be Player)
-        if (!(event.getDamager() instanceof Player player)) return;
-        if (!(event.getEntity() instanceof LivingEntity target)) return;
-
+    /**
+     * Player hit on a living target, routed here by DamageDispatcher.
+     * Upgrade levels are read through the ItemStack PDC view (no ItemMeta copy), so plain
+     * weapons exit after two lookups.
+     */
+    void onPlayerHit(EntityDamageByEntityEvent event, Player player, LivingEntity target) {
         ItemStack weapon = player.getInventory().getItemInMainHand();
-        if (weapon == null) return;
+        if (weapon == null || weapon.isEmpty()) return;
 
-        ItemMeta meta = weapon.getItemMeta();
-        if (meta == null) return;
+        PersistentDataContainerView weaponPdc = weapon.getPersistentDataContainer();
+        int sharpenLevel = weaponPdc.getOrDefault(sharpenLevelKey, PersistentDataType.INTEGER, 0);
+        int markLevel = weaponPdc.getOrDefault(markLevelKey, PersistentDataType.INTEGER, 0);
+        if (sharpenLevel <= 0 && markLevel <= 0) return;
 
         // 1) Apply Sharpening bonus (additive)
-        applySharpeningBonus(event, meta);
+        applySharpeningBonus(event, sharpenLevel);
 
         // 2) Mark system:
         //    - If target already marked by this player and active => multiply damage
         //    - Otherwise, if player has mark_level => chance to mark target (6s + glowing)
-        applyMarkLogic(event, player, target, meta);
+        applyMarkLogic(event, player, target, markLevel);
     }
 
     /* =========================
        Sharpening
        ========================= */
 
-    private void applySharpeningBonus(EntityDamageByEntityEvent event, ItemMeta weaponMeta) {
-        int level = weaponMeta.getPersistentDataContainer()
-                .getOrDefault(sharpenLevelKey, PersistentDataType.INTEGER, 0);
-
+    private void applySharpeningBonus(EntityDamageByEntityEvent event, int level) {
         if (level <= 0) return;
 
         double bonus = switch (Math.min(level, 2)) {
@@ -94,14 +105,11 @@ public final class AddOnEffectListener implements Listener {
        Mark + Glowing
        ========================= */
 
-    private void applyMarkLogic(EntityDamageByEntityEvent event, Player player, LivingEntity target, ItemMeta weaponMeta) {
+    private void applyMarkLogic(EntityDamageByEntityEvent event, Player player, LivingEntity target, int markLevel) {
         UUID playerId = player.getUniqueId();
 
         // If target is actively marked by this player -> multiply damage
         if (isActivelyMarkedBy(target, playerId)) {
-            int markLevel = weaponMeta.getPersistentDataContainer()
-                    .getOrDefault(markLevelKey, PersistentDataType.INTEGER, 0);
-
             // If weapon has no mark level anymore, just don't multiply
             if (markLevel <= 0) return;
 
@@ -111,8 +119,6 @@ public final class AddOnEffectListener implements Listener {
         }
 
         // Otherwise attempt to apply a mark (proc chance based on weapon)
-        int markLevel = weaponMeta.getPersistentDataContainer()
-                .getOrDefault(markLevelKey, PersistentDataType.INTEGER, 0);
         if (markLevel <= 0) return;
 
         double chance = (markLevel == 1) ? 0.10 : 0.25;
@@ -131,7 +137,8 @@ public final class AddOnEffectListener implements Listener {
         target.addPotionEffect(new PotionEffect(PotionEffectType.GLOWING, MARK_TICKS, 0, true, false, true));
 
         // Track current target
-        currentMarkedTarget.put(playerId, target.getUniqueId());
+        markByPlayer.put(playerId, new Mark(target.getUniqueId(), new WeakReference<>(target)));
+        markerByTarget.put(target.getUniqueId(), playerId);
     }
 
     private boolean isActivelyMarkedBy(LivingEntity target, UUID playerId) {
@@ -147,15 +154,19 @@ public final class AddOnEffectListener implements Listener {
     }
 
     private void clearPreviousMark(UUID playerId) {
-        UUID prevTargetId = currentMarkedTarget.remove(playerId);
-        if (prevTargetId == null) return;
+        Mark mark = markByPlayer.remove(playerId);
+        if (mark == null) return;
+        markerByTarget.remove(mark.target(), playerId);
 
-        // Try to find the entity in any loaded world and clear its mark if it belongs to this player
-        Bukkit.getWorlds().forEach(world -> {
-            var entity = world.getEntity(prevTargetId);
-            if (!(entity instanceof LivingEntity living)) return;
+        LivingEntity prev = mark.entity().get();
+        if (prev == null) return;
 
-            var pdc = living.getPersistentDataContainer();
+        // The old target may belong to another region; un-mark it on its own thread.
+        // Unloaded / dead targets keep a stale mark, which expires by marked_until.
+        plugin.scheduler().runFor(prev, () -> {
+            if (!prev.isValid()) return;
+
+            var pdc = prev.getPersistentDataContainer();
             String markedBy = pdc.get(markedByKey, PersistentDataType.STRING);
             if (markedBy == null || !markedBy.equals(playerId.toString())) return;
 
@@ -163,7 +174,40 @@ public final class AddOnEffectListener implements Listener {
             pdc.remove(markedUntilKey);
 
             // remove glowing if it's ours (safe to remove regardless)
-            living.removePotionEffect(PotionEffectType.GLOWING);
+            prev.removePotionEffect(PotionEffectType.GLOWING);
         });
     }
+
+    /* =========================
+       Mark bookkeeping
+       ========================= */
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        UUID playerId = event.getPlayer().getUniqueId();
+        Mark mark = markByPlayer.remove(playerId);
+        if (mark != null) markerByTarget.remove(mark.target(), playerId);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTargetDeath(EntityDeathEvent event) {
+        forgetTarget(event.getEntity().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTargetRemove(EntityRemoveFromWorldEvent event) {
+        forgetTarget(event.getEntity().getUniqueId());
+    }
+
+    private void forgetTarget(UUID targetId) {
+        // every entity death / removal lands here; almost always nothing is marked
+        if (markerByTarget.isEmpty()) return;
+
+        UUID playerId = markerByTarget.remove(targetId);
+        if (playerId == null) return;
+        markByPlayer.computeIfPresent(playerId, (k, mark) -> mark.target().equals(targetId) ? null : mark);
+    }
+
+    private record Mark(UUID target, WeakReference<LivingEntity> entity) {
+    }
 }
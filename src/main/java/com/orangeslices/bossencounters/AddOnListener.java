@@ -81,6 +81,7 @@ public final class AddOnListener implements Listener {
         if (!applied) return;
 
         consumeOneFromHand(player, tt.tokenHand);
+        plugin.equipmentTracker().markDirty(player);
         player.playSound(player.getLocation(), Sound.BLOCK_ANVIL_USE, 0.7f, 1.4f);
         event.setCancelled(true);
     }
@@ -1,5 +1,7 @@
 package com.orangeslices.bossencounters;
 
+import com.orangeslices.bossencounters.affix.Affix;
+import com.orangeslices.bossencounters.raffle.RaffleEffectCache;
 import com.orangeslices.bossencounters.raffle.RaffleTokenFactory;
 import org.bukkit.ChatColor;
 import org.bukkit.NamespacedKey;
@@ -13,6 +15,8 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.persistence.PersistentDataType;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
 public final class BecCommand implements CommandExecutor {
@@ -22,7 +26,6 @@ public final class BecCommand implements CommandExecutor {
 
     private final NamespacedKey bossKey;
     private final NamespacedKey rankKey;
-    private final NamespacedKey affixesKey;
 
     public BecCommand(BossEncountersPlugin plugin, BossApplier bossApplier) {
         this.plugin = plugin;
@@ -30,7 +33,6 @@ public final class BecCommand implements CommandExecutor {
 
         this.bossKey = new NamespacedKey(plugin, "is_boss");
         this.rankKey = new NamespacedKey(plugin, "rank");
-        this.affixesKey = new NamespacedKey(plugin, "affixes");
     }
 
     @Override
@@ -71,6 +73,43 @@ public final class BecCommand implements CommandExecutor {
             return true;
         }
 
+        // ---------------------------------
+        // /bec reload  (OP only)
+        // ---------------------------------
+        if (args[0].equalsIgnoreCase("reload")) {
+            if (!player.isOp()) {
+                player.sendMessage(ChatColor.RED + "You do not have permission to use this command.");
+                return true;
+            }
+
+            plugin.reloadSettings();
+            player.sendMessage(ChatColor.GREEN + "BossEncounters config reloaded.");
+            return true;
+        }
+
+        // ---------------------------------
+        // /bec stats  (OP only)
+        // ---------------------------------
+        if (args[0].equalsIgnoreCase("stats")) {
+            if (!player.isOp()) {
+                player.sendMessage(ChatColor.RED + "You do not have permission to use this command.");
+                return true;
+            }
+
+            long hits = RaffleEffectCache.hits();
+            long misses = RaffleEffectCache.misses();
+            long total = hits + misses;
+            player.sendMessage(ChatColor.GOLD + "Raffle decode cache: " + ChatColor.YELLOW
+                    + RaffleEffectCache.size() + " entries, " + hits + " hits, " + misses + " misses"
+                    + (total > 0 ? " (" + (hits * 100 / total) + "% hit rate)" : ""));
+
+            TickBudgetScheduler budget = plugin.tickBudget();
+            player.sendMessage(ChatColor.GOLD + "Tick budget: " + ChatColor.YELLOW
+                    + budget.executed() + " units run, " + budget.backlog() + " queued (max "
+                    + budget.maxBacklog() + "), " + budget.overrunTicks() + " overrun ticks");
+            return true;
+        }
+
         // Existing command:
         if (args[0].equalsIgnoreCase("test")) {
             handleTest(player, args);
@@ -91,7 +130,7 @@ public final class BecCommand implements CommandExecutor {
 
         String rank = args[1].toUpperCase(Locale.ROOT);
 
-        if (!plugin.getConfig().isConfigurationSection("ranks." + rank)) {
+        if (plugin.settings().rank(rank) == null) {
             player.sendMessage(ChatColor.RED + "Unknown rank: " + rank);
             return;
         }
@@ -115,12 +154,13 @@ public final class BecCommand implements CommandExecutor {
         // Force boss + rank BEFORE pipeline runs
         mob.getPersistentDataContainer().set(rankKey, PersistentDataType.STRING, rank);
 
-        // Optional forced affixes (csv)
+        // Optional forced affixes (csv) — validated here so the boss only ever carries known ids
+        List<Affix> forced = List.of();
+        List<String> unknown = new ArrayList<>();
         if (args.length >= 4) {
-            String csv = args[3].trim();
-            if (!csv.isBlank()) {
-                // store exactly what you typed (lowercase ids are what your config uses)
-                mob.getPersistentDataContainer().set(affixesKey, PersistentDataType.STRING, csv.toLowerCase(Locale.ROOT));
+            forced = Affix.parseList(args[3], unknown);
+            if (!forced.isEmpty()) {
+                bossApplier.setAffixes(mob, forced);
             }
         }
 
@@ -128,7 +168,10 @@ public final class BecCommand implements CommandExecutor {
         plugin.onBossCreated(mob);
 
         player.sendMessage(ChatColor.GREEN + "Spawned " + rank + " boss " + type.name()
-                + (args.length >= 4 ? (" with affixes: " + args[3]) : ""));
+                + (!forced.isEmpty() ? (" with affixes: " + Affix.toCsv(forced)) : ""));
+        if (!unknown.isEmpty()) {
+            player.sendMessage(ChatColor.RED + "Unknown affix(es) ignored: " + String.join(", ", unknown));
+        }
     }
 
     private void help(Player player) {
@@ -137,6 +180,10 @@ public final class BecCommand implements CommandExecutor {
         player.sendMessage(ChatColor.GRAY + "Example: /bec test GOLD ZOMBIE lifesteal,mark,thorns");
         player.sendMessage(ChatColor.LIGHT_PURPLE + "/bec raffle [amount]");
         player.sendMessage(ChatColor.GRAY + "Gives raffle tokens (OP only).");
+        player.sendMessage(ChatColor.YELLOW + "/bec reload");
+        player.sendMessage(ChatColor.GRAY + "Reloads config.yml (OP only).");
+        player.sendMessage(ChatColor.YELLOW + "/bec stats");
+        player.sendMessage(ChatColor.GRAY + "Shows internal cache / tick budget counters (OP only).");
         player.sendMessage(ChatColor.GRAY + "Ranks: GRAY, GREEN, RED, PURPLE, GOLD");
     }
 }
@@ -1,22 +1,20 @@
 package com.orangeslices.bossencounters;
 
+import com.orangeslices.bossencounters.affix.Affix;
 import org.bukkit.ChatColor;
 import org.bukkit.NamespacedKey;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.attribute.AttributeInstance;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
 
 public final class BossApplier {
 
-    private final JavaPlugin plugin;
+    private final BossEncountersPlugin plugin;
 
     // PDC keys
     private final NamespacedKey bossKey;
@@ -24,7 +22,7 @@ public final class BossApplier {
     private final NamespacedKey affixesKey;
     private final NamespacedKey titleKey;
 
-    public BossApplier(JavaPlugin plugin) {
+    public BossApplier(BossEncountersPlugin plugin) {
         this.plugin = plugin;
 
         this.bossKey = new NamespacedKey(plugin, "is_boss");
@@ -35,12 +33,11 @@ public final class BossApplier {
 
     /* -------------------------
        Boss flags / getters
+       (served from BossRegistry; the PDC is only read on register)
        ------------------------- */
 
     public boolean isBoss(LivingEntity entity) {
-        PersistentDataContainer pdc = entity.getPersistentDataContainer();
-        Byte val = pdc.get(bossKey, PersistentDataType.BYTE);
-        return val != null && val == (byte) 1;
+        return plugin.bossRegistry().isBoss(entity);
     }
 
     public void markBoss(LivingEntity entity) {
@@ -49,23 +46,59 @@ public final class BossApplier {
 
     public void unmarkBoss(LivingEntity entity) {
         entity.getPersistentDataContainer().remove(bossKey);
+        plugin.bossRegistry().unregister(entity);
     }
 
     public String getRank(LivingEntity entity) {
-        return entity.getPersistentDataContainer().get(rankKey, PersistentDataType.STRING);
+        BossState state = plugin.bossRegistry().get(entity);
+        return (state != null) ? state.rank : null;
     }
 
     public String getAffixesString(LivingEntity entity) {
-        return entity.getPersistentDataContainer().get(affixesKey, PersistentDataType.STRING);
+        BossState state = plugin.bossRegistry().get(entity);
+        return (state != null) ? state.affixes : null;
     }
 
     public String getTitle(LivingEntity entity) {
+        BossState state = plugin.bossRegistry().get(entity);
+        return (state != null) ? state.title : null;
+    }
+
+    /* -------------------------
+       Raw PDC access (spawn pipeline + BossRegistry)
+       ------------------------- */
+
+    boolean hasBossFlag(LivingEntity entity) {
+        PersistentDataContainer pdc = entity.getPersistentDataContainer();
+        Byte val = pdc.get(bossKey, PersistentDataType.BYTE);
+        return val != null && val == (byte) 1;
+    }
+
+    String readRank(LivingEntity entity) {
+        return entity.getPersistentDataContainer().get(rankKey, PersistentDataType.STRING);
+    }
+
+    String readAffixes(LivingEntity entity) {
+        return entity.getPersistentDataContainer().get(affixesKey, PersistentDataType.STRING);
+    }
+
+    String readTitle(LivingEntity entity) {
         return entity.getPersistentDataContainer().get(titleKey, PersistentDataType.STRING);
     }
 
+    /**
+     * Re-resolves the registry entry after a PDC write on an already registered boss.
+     */
+    private void refreshState(LivingEntity entity) {
+        if (plugin.bossRegistry().isBoss(entity)) {
+            plugin.bossRegistry().register(entity);
+        }
+    }
+
     public void setRank(LivingEntity entity, String rank) {
         if (rank == null || rank.isBlank()) {
             entity.getPersistentDataContainer().remove(rankKey);
+            refreshState(entity);
             return;
         }
         entity.getPersistentDataContainer().set(
@@ -73,52 +106,37 @@ public final class BossApplier {
                 PersistentDataType.STRING,
                 rank.trim().toUpperCase(Locale.ROOT)
         );
+        refreshState(entity);
     }
 
-    public void setAffixes(LivingEntity entity, List<String> affixes) {
+    public void setAffixes(LivingEntity entity, List<Affix> affixes) {
         if (affixes == null || affixes.isEmpty()) {
             entity.getPersistentDataContainer().remove(affixesKey);
             entity.getPersistentDataContainer().remove(titleKey);
-            return;
-        }
-
-        List<String> cleaned = new ArrayList<>();
-        for (String a : affixes) {
-            if (a == null) continue;
-            String id = a.trim().toLowerCase(Locale.ROOT);
-            if (!id.isEmpty()) cleaned.add(id);
-        }
-
-        if (cleaned.isEmpty()) {
-            entity.getPersistentDataContainer().remove(affixesKey);
-            entity.getPersistentDataContainer().remove(titleKey);
+            refreshState(entity);
             return;
         }
 
         entity.getPersistentDataContainer().set(
                 affixesKey,
                 PersistentDataType.STRING,
-                String.join(",", cleaned)
+                Affix.toCsv(affixes)
         );
 
         // force title rebuild from new affixes
         entity.getPersistentDataContainer().remove(titleKey);
+        refreshState(entity);
     }
 
     public boolean isValidAffix(String id) {
-        if (id == null || id.isBlank()) return false;
-        String key = "affixes.pool." + id.trim().toLowerCase(Locale.ROOT);
-        return plugin.getConfig().isConfigurationSection(key);
+        Affix affix = Affix.fromId(id);
+        return affix != null && plugin.settings().affixes.pool.contains(affix.id());
     }
 
     public int getMaxAffixesForRank(String rankId) {
-        int fallback = Math.max(0, plugin.getConfig().getInt("affixes.max_per_boss", 0));
-        if (rankId == null || rankId.isBlank()) return fallback;
-
-        ConfigurationSection rankSec = plugin.getConfig().getConfigurationSection("ranks." + rankId);
-        if (rankSec == null) return fallback;
-
-        return Math.max(0, rankSec.getInt("max_affixes", fallback));
+        BossEncountersSettings settings = plugin.settings();
+        BossEncountersSettings.Rank rank = settings.rank(rankId);
+        return (rank != null) ? rank.maxAffixes : settings.affixes.maxPerBoss;
     }
 
     /* -------------------------
@@ -126,30 +144,30 @@ public final class BossApplier {
        ------------------------- */
 
     public void applyBossStats(LivingEntity entity) {
-        // Prevent double applying (important for performance & consistency)
-        if (isBoss(entity)) return;
+        // Prevent double applying (important for performance & consistency).
+        // PDC flag, not the registry: a flagged entity may not have been registered yet.
+        if (hasBossFlag(entity)) return;
+
+        BossEncountersSettings settings = plugin.settings();
 
         // 1) Get rank (use forced rank if already set)
-        String rankId = getRank(entity);
+        String rankId = readRank(entity);
         if (rankId == null || rankId.isBlank()) {
-            rankId = rollRankId();
+            rankId = rollRankId(settings);
             if (rankId != null && !rankId.isBlank()) {
                 entity.getPersistentDataContainer().set(rankKey, PersistentDataType.STRING, rankId);
             }
         }
 
         // 2) Resolve multipliers (rank overrides fallback stats.*)
-        double hpMult = getRankOrDefaultDouble(rankId, "stats.health_multiplier",
-                plugin.getConfig().getDouble("stats.health_multiplier", 4.0));
-
-        double dmgMult = getRankOrDefaultDouble(rankId, "stats.damage_multiplier",
-                plugin.getConfig().getDouble("stats.damage_multiplier", 1.5));
+        BossEncountersSettings.Rank rank = settings.rank(rankId);
 
-        double spdMult = getRankOrDefaultDouble(rankId, "stats.speed_multiplier",
-                plugin.getConfig().getDouble("stats.speed_multiplier", 1.0));
+        double hpMult = (rank != null) ? rank.healthMultiplier : settings.stats.healthMultiplier;
+        double dmgMult = (rank != null) ? rank.damageMultiplier : settings.stats.damageMultiplier;
+        double spdMult = (rank != null) ? rank.speedMultiplier : settings.stats.speedMultiplier;
 
         // 3) Max affixes (rank overrides)
-        int maxAffixes = getMaxAffixesForRank(rankId);
+        int maxAffixes = (rank != null) ? rank.maxAffixes : settings.affixes.maxPerBoss;
 
         // Mark as boss now (so listeners know)
         markBoss(entity);
@@ -175,13 +193,16 @@ public final class BossApplier {
         }
 
         // Affixes (don’t overwrite if already forced)
-        applyAffixSelection(entity, maxAffixes);
+        applyAffixSelection(entity, settings, maxAffixes);
 
         // Title derived from first 2 affixes (don’t overwrite if already set)
-        applyTitleFromAffixes(entity);
+        applyTitleFromAffixes(entity, settings);
 
         // Nameplate: rank COLOR + (titles) + base name — NO rank text, NO brackets
-        applyNameplate(entity, rankId);
+        applyNameplate(entity, settings, rank);
+
+        // Resolve once into the registry; listeners read from there from now on
+        plugin.bossRegistry().register(entity);
     }
 
     /* -------------------------
@@ -189,25 +210,25 @@ public final class BossApplier {
        Example: "&6Vampiric Huntsman Boss"
        ------------------------- */
 
-    private void applyNameplate(LivingEntity entity, String rankId) {
-        if (!plugin.getConfig().getBoolean("boss.name.enabled", true)) return;
+    private void applyNameplate(LivingEntity entity, BossEncountersSettings settings, BossEncountersSettings.Rank rank) {
+        BossEncountersSettings.BossName name = settings.bossName;
+        if (!name.enabled) return;
 
         // Rank color (visual tier)
-        String rankColor = plugin.getConfig().getString("boss.name.color", "&c");
-        ConfigurationSection rankSec = getRankSection(rankId);
-        if (rankSec != null) {
-            rankColor = rankSec.getString("color", rankColor);
+        String rankColor = name.color;
+        if (rank != null && rank.color != null) {
+            rankColor = rank.color;
         }
 
         // Title from affixes (already first-2 only)
-        String title = getTitle(entity);
+        String title = readTitle(entity);
         String titlePart = "";
         if (title != null && !title.isBlank()) {
             titlePart = title.trim() + " ";
         }
 
         // Base text (Boss, unless blank -> mob name)
-        String baseText = plugin.getConfig().getString("boss.name.text", "Boss");
+        String baseText = name.text;
         if (baseText == null || baseText.isBlank()) {
             baseText = prettyMobName(entity.getType());
         }
@@ -235,11 +256,11 @@ public final class BossApplier {
        Title from affixes (FIRST 2 ONLY)
        ------------------------- */
 
-    private void applyTitleFromAffixes(LivingEntity entity) {
+    private void applyTitleFromAffixes(LivingEntity entity, BossEncountersSettings settings) {
         // don’t overwrite an existing title (important for forced titles later)
-        if (getTitle(entity) != null) return;
+        if (readTitle(entity) != null) return;
 
-        String affixesCsv = getAffixesString(entity);
+        String affixesCsv = readAffixes(entity);
         if (affixesCsv == null || affixesCsv.isBlank()) return;
 
         String[] affixes = affixesCsv.split(",");
@@ -250,9 +271,9 @@ public final class BossApplier {
             String id = a.trim().toLowerCase(Locale.ROOT);
             if (id.isEmpty()) continue;
 
-            String word = plugin.getConfig().getString("affix_titles." + id, "");
-            if (word != null && !word.isBlank()) {
-                words.add(word.trim());
+            String word = settings.affixes.title(id);
+            if (word != null) {
+                words.add(word);
             }
 
             if (words.size() >= 2) break;
@@ -271,92 +292,31 @@ public final class BossApplier {
        Rank helpers
        ------------------------- */
 
-    private ConfigurationSection getRankSection(String rankId) {
-        if (rankId == null || rankId.isBlank()) return null;
-        return plugin.getConfig().getConfigurationSection("ranks." + rankId);
-    }
-
-    private double getRankOrDefaultDouble(String rankId, String relPath, double fallback) {
-        ConfigurationSection rankSec = getRankSection(rankId);
-        if (rankSec == null) return fallback;
-        return rankSec.getDouble(relPath, fallback);
-    }
-
-    private String rollRankId() {
-        ConfigurationSection ranks = plugin.getConfig().getConfigurationSection("ranks");
-        if (ranks == null) return null;
-
-        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
-        for (String id : ranks.getKeys(false)) {
-            int w = Math.max(0, ranks.getInt(id + ".weight", 0));
-            if (w > 0) entries.add(Map.entry(id, w));
-        }
-        if (entries.isEmpty()) return null;
-
-        int total = 0;
-        for (var e : entries) total += e.getValue();
-        if (total <= 0) return null;
-
-        int roll = ThreadLocalRandom.current().nextInt(total);
-        int running = 0;
-        for (var e : entries) {
-            running += e.getValue();
-            if (roll < running) return e.getKey();
-        }
-        return entries.get(entries.size() - 1).getKey();
+    private String rollRankId(BossEncountersSettings settings) {
+        BossEncountersSettings.Rank rank = settings.rankSampler.sample();
+        return (rank != null) ? rank.id : null;
     }
 
     /* -------------------------
        Affix selection (unique, weighted, respects forced affixes)
        ------------------------- */
 
-    private void applyAffixSelection(LivingEntity entity, int max) {
-        if (!plugin.getConfig().getBoolean("affixes.enabled", true)) return;
+    private void applyAffixSelection(LivingEntity entity, BossEncountersSettings settings, int max) {
+        if (!settings.affixes.enabled) return;
         if (max <= 0) return;
 
         // Respect forced affixes (do not overwrite)
-        String existing = getAffixesString(entity);
+        String existing = readAffixes(entity);
         if (existing != null && !existing.isBlank()) return;
 
-        ConfigurationSection pool = plugin.getConfig().getConfigurationSection("affixes.pool");
-        if (pool == null) return;
-
-        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
-        for (String id : pool.getKeys(false)) {
-            int w = Math.max(0, plugin.getConfig().getInt("affixes.pool." + id + ".weight", 1));
-            if (w > 0) entries.add(Map.entry(id.toLowerCase(Locale.ROOT), w));
-        }
-        if (entries.isEmpty()) return;
-
-        List<String> chosen = new ArrayList<>();
-        for (int i = 0; i < max && !entries.isEmpty(); i++) {
-            int total = 0;
-            for (var e : entries) total += e.getValue();
-            if (total <= 0) break;
-
-            int roll = ThreadLocalRandom.current().nextInt(total);
-            int running = 0;
-            int pickedIndex = -1;
-
-            for (int idx = 0; idx < entries.size(); idx++) {
-                running += entries.get(idx).getValue();
-                if (roll < running) {
-                    pickedIndex = idx;
-                    break;
-                }
-            }
-
-            if (pickedIndex >= 0) {
-                chosen.add(entries.get(pickedIndex).getKey());
-                entries.remove(pickedIndex); // unique picks
-            }
-        }
+        // Unique weighted picks (alias sampler, built at config load)
+        List<Affix> chosen = settings.affixes.sampler.sampleDistinct(max);
 
         if (!chosen.isEmpty()) {
             entity.getPersistentDataContainer().set(
                     affixesKey,
                     PersistentDataType.STRING,
-                    String.join(",", chosen)
+                    Affix.toCsv(chosen)
             );
         }
     }
@@ -1,16 +1,16 @@
 package com.orangeslices.bossencounters;
 
 import org.bukkit.Material;
-import org.bukkit.NamespacedKey;
 import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.persistence.PersistentDataType;
 
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Random;
 
 public final class BossDropListener implements Listener {
@@ -25,9 +25,10 @@ public final class BossDropListener implements Listener {
     @EventHandler
     public void onBossDeath(EntityDeathEvent event) {
         LivingEntity entity = event.getEntity();
-        if (!isBoss(entity)) return;
+        BossState state = plugin.bossRegistry().get(entity);
+        if (state == null) return;
 
-        String rank = getRank(entity);
+        String rank = (state.rank == null) ? "GRAY" : state.rank.toUpperCase(Locale.ROOT);
         World world = entity.getWorld();
 
         // Token pool (Unified)
@@ -45,15 +46,18 @@ public final class BossDropListener implements Listener {
         int tokenCount = rollTokenCount(rankUpper);
         if (tokenCount <= 0) return;
 
-        TokenType firstType = rollTokenType(rankUpper);
+        // Second token (if any) is always a different type — drawn without replacement
+        List<TokenType> types = tokenTypes(rankUpper).sampleDistinct(tokenCount, random);
+        if (types.isEmpty()) return;
+
+        TokenType firstType = types.get(0);
         int firstLevel = rollTokenLevel(firstType, rankUpper);
 
         world.dropItemNaturally(entity.getLocation(), createToken(firstType, firstLevel));
 
-        if (tokenCount == 1) return;
+        if (types.size() < 2) return;
 
-        // Second token — force different type (no duplicates)
-        TokenType secondType = rollDifferentTokenType(rankUpper, firstType);
+        TokenType secondType = types.get(1);
         int secondLevel = rollTokenLevel(secondType, rankUpper);
 
         world.dropItemNaturally(entity.getLocation(), createToken(secondType, secondLevel));
@@ -93,55 +97,55 @@ public final class BossDropListener implements Listener {
      * Early ranks: mostly Sharpening/Mark.
      * Higher ranks: potion kits show up more often.
      */
-    private TokenType rollTokenType(String rankUpper) {
-        double r = random.nextDouble();
-
-        return switch (rankUpper) {
-            case "GRAY" -> pickWeighted(r,
-                    0.55, TokenType.SHARPENING,
-                    0.45, TokenType.MARK
-            );
-
-            case "GREEN" -> pickWeighted(r,
-                    0.50, TokenType.SHARPENING,
-                    0.35, TokenType.MARK,
-                    0.15, TokenType.HASTE
-            );
-
-            case "RED" -> pickWeighted(r,
-                    0.40, TokenType.SHARPENING,
-                    0.30, TokenType.MARK,
-                    0.12, TokenType.HASTE,
-                    0.10, TokenType.STRENGTH,
-                    0.08, TokenType.FIRE_RESISTANCE
-            );
-
-            case "PURPLE" -> pickWeighted(r,
-                    0.30, TokenType.SHARPENING,
-                    0.22, TokenType.MARK,
-                    0.12, TokenType.HASTE,
-                    0.12, TokenType.STRENGTH,
-                    0.10, TokenType.FIRE_RESISTANCE,
-                    0.08, TokenType.HEALTH_BOOST,
-                    0.06, TokenType.NIGHT_VISION
-            );
-
-            case "GOLD" -> pickWeighted(r,
-                    0.22, TokenType.SHARPENING,
-                    0.18, TokenType.MARK,
-                    0.14, TokenType.HASTE,
-                    0.14, TokenType.STRENGTH,
-                    0.10, TokenType.FIRE_RESISTANCE,
-                    0.10, TokenType.HEALTH_BOOST,
-                    0.06, TokenType.NIGHT_VISION,
-                    0.06, TokenType.WATER_BREATHING
-            );
-
-            default -> pickWeighted(r,
-                    0.50, TokenType.SHARPENING,
-                    0.50, TokenType.MARK
-            );
-        };
+    private static final Map<String, WeightedSampler<TokenType>> TOKEN_TYPES = Map.of(
+            "GRAY", WeightedSampler.<TokenType>builder()
+                    .add(TokenType.SHARPENING, 0.55)
+                    .add(TokenType.MARK, 0.45)
+                    .build(),
+
+            "GREEN", WeightedSampler.<TokenType>builder()
+                    .add(TokenType.SHARPENING, 0.50)
+                    .add(TokenType.MARK, 0.35)
+                    .add(TokenType.HASTE, 0.15)
+                    .build(),
+
+            "RED", WeightedSampler.<TokenType>builder()
+                    .add(TokenType.SHARPENING, 0.40)
+                    .add(TokenType.MARK, 0.30)
+                    .add(TokenType.HASTE, 0.12)
+                    .add(TokenType.STRENGTH, 0.10)
+                    .add(TokenType.FIRE_RESISTANCE, 0.08)
+                    .build(),
+
+            "PURPLE", WeightedSampler.<TokenType>builder()
+                    .add(TokenType.SHARPENING, 0.30)
+                    .add(TokenType.MARK, 0.22)
+                    .add(TokenType.HASTE, 0.12)
+                    .add(TokenType.STRENGTH, 0.12)
+                    .add(TokenType.FIRE_RESISTANCE, 0.10)
+                    .add(TokenType.HEALTH_BOOST, 0.08)
+                    .add(TokenType.NIGHT_VISION, 0.06)
+                    .build(),
+
+            "GOLD", WeightedSampler.<TokenType>builder()
+                    .add(TokenType.SHARPENING, 0.22)
+                    .add(TokenType.MARK, 0.18)
+                    .add(TokenType.HASTE, 0.14)
+                    .add(TokenType.STRENGTH, 0.14)
+                    .add(TokenType.FIRE_RESISTANCE, 0.10)
+                    .add(TokenType.HEALTH_BOOST, 0.10)
+                    .add(TokenType.NIGHT_VISION, 0.06)
+                    .add(TokenType.WATER_BREATHING, 0.06)
+                    .build()
+    );
+
+    private static final WeightedSampler<TokenType> DEFAULT_TOKEN_TYPES = WeightedSampler.<TokenType>builder()
+            .add(TokenType.SHARPENING, 0.50)
+            .add(TokenType.MARK, 0.50)
+            .build();
+
+    private static WeightedSampler<TokenType> tokenTypes(String rankUpper) {
+        return TOKEN_TYPES.getOrDefault(rankUpper, DEFAULT_TOKEN_TYPES);
     }
 
     /**
@@ -164,29 +168,6 @@ public final class BossDropListener implements Listener {
         };
     }
 
-    private TokenType rollDifferentTokenType(String rankUpper, TokenType notThis) {
-        for (int i = 0; i < 12; i++) {
-            TokenType t = rollTokenType(rankUpper);
-            if (t != notThis) return t;
-        }
-        return (notThis == TokenType.SHARPENING) ? TokenType.MARK : TokenType.SHARPENING;
-    }
-
-    /**
-     * Helper to pick from weight pairs that sum to 1.0.
-     * Format: w1,t1,w2,t2,... (weights must be positive).
-     */
-    private TokenType pickWeighted(double r, Object... pairs) {
-        double cumulative = 0.0;
-        for (int i = 0; i < pairs.length; i += 2) {
-            double w = (double) pairs[i];
-            TokenType t = (TokenType) pairs[i + 1];
-            cumulative += w;
-            if (r < cumulative) return t;
-        }
-        return (TokenType) pairs[pairs.length - 1];
-    }
-
     private enum TokenType {
         SHARPENING,
         MARK,
@@ -260,19 +241,6 @@ public final class BossDropListener implements Listener {
        Helpers
        ========================= */
 
-    private boolean isBoss(LivingEntity entity) {
-        Byte flag = entity.getPersistentDataContainer()
-                .get(plugin.bossKey(), PersistentDataType.BYTE);
-        return flag != null && flag == (byte) 1;
-    }
-
-    private String getRank(LivingEntity entity) {
-        NamespacedKey rankKey = new NamespacedKey(plugin, "rank");
-        String rank = entity.getPersistentDataContainer()
-                .get(rankKey, PersistentDataType.STRING);
-        return rank == null ? "GRAY" : rank.toUpperCase(Locale.ROOT);
-    }
-
     private Tier mapRankToTier(String rankUpper) {
         return switch (rankUpper) {
             case "RED" -> Tier.MID;
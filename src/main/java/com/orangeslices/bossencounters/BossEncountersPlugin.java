@@ -1,5 +1,6 @@
 package com.orangeslices.bossencounters;
 
+import com.orangeslices.bossencounters.affix.AffixHandlers;
 import com.orangeslices.bossencounters.raffle.RaffleDebug;
 import com.orangeslices.bossencounters.raffle.RaffleKeys;
 import com.orangeslices.bossencounters.raffle.RafflePool;
@@ -7,14 +8,13 @@ import com.orangeslices.bossencounters.raffle.RaffleService;
 import com.orangeslices.bossencounters.raffle.RaffleTokenFactory;
 import com.orangeslices.bossencounters.raffle.effects.RafflePotionEngine;
 import com.orangeslices.bossencounters.raffle.effects.custom.RaffleCustomEffectEngine;
+import com.orangeslices.bossencounters.scheduler.TaskScheduler;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.NamespacedKey;
-import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.Map;
 import java.util.UUID;
@@ -22,8 +22,22 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public final class BossEncountersPlugin extends JavaPlugin {
 
+    // Paper main thread or Folia regions
+    private TaskScheduler scheduler;
+
     private NamespacedKey bossKey;
     private BossApplier bossApplier;
+    private BossRegistry bossRegistry;
+    private AffixHandlers affixHandlers;
+    private LethalSafetySweep lethalSafetySweep;
+    private TimingWheel timingWheel;
+    private TickBudgetScheduler tickBudget;
+    private EquipmentTracker equipmentTracker;
+    private PotionArbiter potionArbiter;
+    private PlayerPositions playerPositions;
+
+    // Compiled config snapshot (swapped atomically on reload)
+    private volatile BossEncountersSettings settings;
 
     // Raffle system core
     private RafflePool rafflePool;
@@ -36,8 +50,7 @@ public final class BossEncountersPlugin extends JavaPlugin {
     // Track active bosses per world
     private final Map<UUID, Integer> activeBossesByWorld = new ConcurrentHashMap<>();
 
-    // Track despawn tasks per boss entity
-    private final Map<UUID, BukkitTask> despawnTasks = new ConcurrentHashMap<>();
+    private DespawnSweeper despawnSweeper;
 
     private SpawnBossListener spawnBossListener;
     private PotionAddOnListener potionAddOnListener;
@@ -46,9 +59,14 @@ public final class BossEncountersPlugin extends JavaPlugin {
     public void onEnable() {
         saveDefaultConfig();
         reloadConfig();
+        settings = BossEncountersSettings.load(getConfig());
+
+        scheduler = TaskScheduler.create(this);
 
         bossKey = new NamespacedKey(this, "is_boss");
         bossApplier = new BossApplier(this);
+        affixHandlers = new AffixHandlers(this);
+        bossRegistry = new BossRegistry(this);
 
         // -------------------------
         // Raffle init
@@ -57,15 +75,31 @@ public final class BossEncountersPlugin extends JavaPlugin {
         RaffleTokenFactory.init(this);
 
         RaffleDebug.init(this);
-        RaffleDebug.setEnabled(getConfig().getBoolean("raffle.debug", false));
+        RaffleDebug.setEnabled(settings.raffle.debug);
 
         rafflePool = new RafflePool(this);
         rafflePool.reloadFromConfig();
         raffleService = new RaffleService(rafflePool);
 
         // -------------------------
-        // Raffle effect engines
+        // Raffle effect engines (driven by equipment changes)
         // -------------------------
+        timingWheel = new TimingWheel(this);
+        timingWheel.start();
+
+        playerPositions = new PlayerPositions(this);
+        getServer().getPluginManager().registerEvents(playerPositions, this);
+        playerPositions.start();
+
+        tickBudget = new TickBudgetScheduler(this);
+        tickBudget.start();
+
+        equipmentTracker = new EquipmentTracker(this);
+        getServer().getPluginManager().registerEvents(equipmentTracker, this);
+
+        potionArbiter = new PotionArbiter(this);
+        potionArbiter.start();
+
         rafflePotionEngine = new RafflePotionEngine(this);
         rafflePotionEngine.start();
 
@@ -77,26 +111,39 @@ public final class BossEncountersPlugin extends JavaPlugin {
         // -------------------------
         spawnBossListener = new SpawnBossListener(this);
 
+        despawnSweeper = new DespawnSweeper(this, spawnBossListener::maybeBroadcastDespawn);
+        despawnSweeper.start();
+
+        getServer().getPluginManager().registerEvents(bossRegistry, this);
+        bossRegistry.scanLoadedWorlds();
+
+        lethalSafetySweep = new LethalSafetySweep(this);
+        lethalSafetySweep.start();
         getServer().getPluginManager().registerEvents(
                 new com.orangeslices.bossencounters.raffle.RaffleApplyListener(this), this);
         getServer().getPluginManager().registerEvents(spawnBossListener, this);
         getServer().getPluginManager().registerEvents(new BossCombatListener(this), this);
-        getServer().getPluginManager().registerEvents(new AffixListener(this), this);
+        AffixListener affixListener = new AffixListener(this);
+        getServer().getPluginManager().registerEvents(affixListener, this);
+        AddOnEffectListener addOnEffectListener = new AddOnEffectListener(this);
+        getServer().getPluginManager().registerEvents(addOnEffectListener, this);
+        getServer().getPluginManager().registerEvents(
+                new DamageDispatcher(this, affixListener, addOnEffectListener), this);
         getServer().getPluginManager().registerEvents(new BossDropListener(this), this);
         getServer().getPluginManager().registerEvents(new AddOnListener(this), this);
-        getServer().getPluginManager().registerEvents(new AddOnEffectListener(this), this);
 
         // Existing potion add-on system
         potionAddOnListener = new PotionAddOnListener(this);
-        getServer().getPluginManager().registerEvents(potionAddOnListener, this);
         potionAddOnListener.start();
 
+        equipmentTracker.start();
+
         // Command
         if (getCommand("bec") != null) {
             getCommand("bec").setExecutor(new BecCommand(this, bossApplier));
         }
 
-        getLogger().info("BossEncounters enabled.");
+        getLogger().info("BossEncounters enabled" + (scheduler.regionised() ? " (Folia)." : "."));
     }
 
     @Override
@@ -117,12 +164,46 @@ public final class BossEncountersPlugin extends JavaPlugin {
             potionAddOnListener = null;
         }
 
-        for (UUID id : despawnTasks.keySet()) {
-            cancelBossDespawn(id);
+        if (potionArbiter != null) {
+            potionArbiter.stop();
+            potionArbiter = null;
+        }
+
+        if (equipmentTracker != null) {
+            equipmentTracker.stop();
+            equipmentTracker = null;
+        }
+
+        if (timingWheel != null) {
+            timingWheel.stop();
+            timingWheel = null;
+        }
+
+        if (tickBudget != null) {
+            tickBudget.stop();
+            tickBudget = null;
+        }
+
+        if (lethalSafetySweep != null) {
+            lethalSafetySweep.stop();
+            lethalSafetySweep = null;
+        }
+
+        if (despawnSweeper != null) {
+            despawnSweeper.stop();
+            despawnSweeper = null;
+        }
+
+        if (playerPositions != null) {
+            playerPositions.stop();
+            playerPositions = null;
         }
-        despawnTasks.clear();
         activeBossesByWorld.clear();
 
+        if (bossRegistry != null) {
+            bossRegistry.clear();
+        }
+
         getLogger().info("BossEncounters disabled.");
     }
 
@@ -130,6 +211,22 @@ public final class BossEncountersPlugin extends JavaPlugin {
     // REQUIRED GETTERS (fixes your compile errors)
     // -------------------------
 
+    public BossEncountersSettings settings() {
+        return settings;
+    }
+
+    /**
+     * Re-reads config.yml and swaps in a freshly compiled settings snapshot.
+     */
+    public void reloadSettings() {
+        reloadConfig();
+        BossEncountersSettings fresh = BossEncountersSettings.load(getConfig());
+        settings = fresh;
+
+        RaffleDebug.setEnabled(fresh.raffle.debug);
+        if (rafflePool != null) rafflePool.reloadFromConfig();
+    }
+
     public NamespacedKey bossKey() {
         return bossKey;
     }
@@ -138,6 +235,42 @@ public final class BossEncountersPlugin extends JavaPlugin {
         return bossApplier;
     }
 
+    public BossRegistry bossRegistry() {
+        return bossRegistry;
+    }
+
+    public AffixHandlers affixHandlers() {
+        return affixHandlers;
+    }
+
+    public LethalSafetySweep lethalSafetySweep() {
+        return lethalSafetySweep;
+    }
+
+    public TaskScheduler scheduler() {
+        return scheduler;
+    }
+
+    public TimingWheel timingWheel() {
+        return timingWheel;
+    }
+
+    public TickBudgetScheduler tickBudget() {
+        return tickBudget;
+    }
+
+    public EquipmentTracker equipmentTracker() {
+        return equipmentTracker;
+    }
+
+    public PotionArbiter potionArbiter() {
+        return potionArbiter;
+    }
+
+    public PlayerPositions playerPositions() {
+        return playerPositions;
+    }
+
     // -------------------------
     // Raffle accessors
     // -------------------------
@@ -151,34 +284,31 @@ public final class BossEncountersPlugin extends JavaPlugin {
     }
 
     public int raffleMaxSlotsPerArmor() {
-        return getConfig().getInt("raffle.max_slots_per_armor", RaffleService.DEFAULT_MAX_SLOTS);
+        return settings.raffle.maxSlotsPerArmor;
     }
 
     /* -------------------------
        Broadcast helpers
        ------------------------- */
 
+    /**
+     * Message players near {@code at} (by PlayerPositions); each send runs on that
+     * player's thread.
+     */
     public void broadcastLocal(Location at, double radius, String msgColored) {
         if (at == null || at.getWorld() == null) return;
 
-        World w = at.getWorld();
-        double r2 = radius * radius;
-
-        String mode = getConfig().getString("messages.mode", "CHAT");
-        if (mode == null) mode = "CHAT";
-        mode = mode.trim().toUpperCase();
+        String mode = settings.messages.mode;
 
         String colored = ChatColor.translateAlternateColorCodes('&', msgColored);
 
-        for (Player p : w.getPlayers()) {
-            if (p.getLocation().distanceSquared(at) > r2) continue;
-
+        playerPositions.forEachWithin(at, radius, p -> scheduler.runFor(p, () -> {
             switch (mode) {
                 case "ACTIONBAR" -> sendActionBar(p, colored);
                 case "TITLE" -> p.sendTitle(colored, "", 5, 40, 10);
                 default -> p.sendMessage(colored);
             }
-        }
+        }));
     }
 
     private void sendActionBar(Player player, String coloredMessage) {
@@ -215,13 +345,11 @@ public final class BossEncountersPlugin extends JavaPlugin {
         cancelBossDespawn(boss.getUniqueId());
     }
 
-    public void scheduleBossDespawn(UUID bossId, BukkitTask task) {
-        cancelBossDespawn(bossId);
-        despawnTasks.put(bossId, task);
+    public void scheduleBossDespawn(LivingEntity boss) {
+        if (despawnSweeper != null) despawnSweeper.schedule(boss);
     }
 
     public void cancelBossDespawn(UUID bossId) {
-        BukkitTask old = despawnTasks.remove(bossId);
-        if (old != null) old.cancel();
+        if (despawnSweeper != null) despawnSweeper.cancel(bossId);
     }
 }
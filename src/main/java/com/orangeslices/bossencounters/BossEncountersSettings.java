@@ -0,0 +1,521 @@
+package com.orangeslices.bossencounters;
+
+import com.orangeslices.bossencounters.affix.Affix;
+import com.orangeslices.bossencounters.raffle.RaffleService;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.*;
+
+/**
+ * Immutable, typed snapshot of config.yml.
+ *
+ * Built once in onEnable (and again on /bec reload) and swapped in atomically by
+ * BossEncountersPlugin. Listeners read plain final fields from here instead of
+ * walking the YAML tree with concatenated path strings on every event.
+ */
+public final class BossEncountersSettings {
+
+    public final SpawnRules spawn;
+    public final Messages messages;
+    public final Despawn despawn;
+    public final SpawnFx spawnFx;
+    public final BossName bossName;
+    public final Stats stats;
+    public final double xpMultiplier;
+    public final Map<String, Rank> ranks;
+    /** Rank roll for fresh bosses (ranks with weight > 0). */
+    public final WeightedSampler<Rank> rankSampler;
+    public final Affixes affixes;
+    public final Raffle raffle;
+    public final Performance performance;
+
+    private BossEncountersSettings(FileConfiguration cfg) {
+        this.spawn = SpawnRules.compile(cfg);
+        this.messages = new Messages(cfg);
+        this.despawn = new Despawn(cfg);
+        this.spawnFx = new SpawnFx(cfg);
+        this.bossName = new BossName(cfg);
+        this.stats = new Stats(cfg);
+        this.xpMultiplier = cfg.getDouble("rewards.xp_multiplier", 1.0);
+        this.affixes = new Affixes(cfg);
+        this.ranks = loadRanks(cfg, stats, affixes.maxPerBoss);
+        this.rankSampler = buildRankSampler(ranks);
+        this.raffle = new Raffle(cfg);
+        this.performance = new Performance(cfg);
+    }
+
+    public static BossEncountersSettings load(FileConfiguration cfg) {
+        return new BossEncountersSettings(cfg);
+    }
+
+    /**
+     * Rank definition by id (exact config key), or null if not configured.
+     */
+    public Rank rank(String id) {
+        if (id == null || id.isBlank()) return null;
+        return ranks.get(id);
+    }
+
+    /* -------------------------
+       Spawn / despawn
+       ------------------------- */
+
+    public static final class Despawn {
+        public final boolean enabled;
+        public final long delayTicks;
+        public final double onlyIfNoPlayersWithin;
+        public final boolean requireNoTarget;
+
+        private Despawn(ConfigurationSection cfg) {
+            this.enabled = cfg.getBoolean("despawn.enabled", true);
+            this.delayTicks = Math.max(10, cfg.getInt("despawn.after_seconds", 300)) * 20L;
+            this.onlyIfNoPlayersWithin = cfg.getDouble("despawn.only_if_no_players_within", 48.0);
+            this.requireNoTarget = cfg.getBoolean("despawn.require_no_target", true);
+        }
+    }
+
+    /* -------------------------
+       Messaging / FX / nameplate
+       ------------------------- */
+
+    public static final class Messages {
+        public final boolean enabled;
+        public final double radius;
+        public final String mode;
+
+        public final boolean spawnEnabled;
+        public final String spawnFormat;
+        public final boolean deathEnabled;
+        public final String deathFormat;
+        public final boolean despawnEnabled;
+        public final String despawnFormat;
+
+        private Messages(ConfigurationSection cfg) {
+            this.enabled = cfg.getBoolean("messages.enabled", true);
+            this.radius = cfg.getDouble("messages.radius", 40.0);
+
+            String m = cfg.getString("messages.mode", "CHAT");
+            this.mode = (m == null) ? "CHAT" : m.trim().toUpperCase(Locale.ROOT);
+
+            this.spawnEnabled = cfg.getBoolean("messages.spawn.enabled", true);
+            this.spawnFormat = cfg.getString("messages.spawn.format",
+                    "&6A {rank_color}[{rank_label}] &r{title}{mob} &6has appeared!");
+            this.deathEnabled = cfg.getBoolean("messages.death.enabled", true);
+            this.deathFormat = cfg.getString("messages.death.format",
+                    "&aDefeated: {rank_color}[{rank_label}] &r{title}{mob} &e(+{rank_xp}x XP)");
+            this.despawnEnabled = cfg.getBoolean("messages.despawn.enabled", true);
+            this.despawnFormat = cfg.getString("messages.despawn.format",
+                    "&7Faded: {rank_color}[{rank_label}] &r{title}{mob}");
+        }
+    }
+
+    public static final class SpawnFx {
+        public final boolean enabled;
+        public final double radius;
+        public final Sound sound; // null if the configured name is invalid
+        public final float volume;
+        public final float pitch;
+        private final Map<String, Integer> particlesByRank;
+
+        private SpawnFx(ConfigurationSection cfg) {
+            this.enabled = cfg.getBoolean("fx.spawn.enabled", true);
+            this.radius = cfg.getDouble("fx.spawn.radius", 24.0);
+            this.sound = parseSound(cfg.getString("fx.spawn.sound", "ENTITY_WITHER_SPAWN"));
+            this.volume = (float) cfg.getDouble("fx.spawn.volume", 0.45);
+            this.pitch = (float) cfg.getDouble("fx.spawn.pitch", 1.1);
+
+            Map<String, Integer> map = new HashMap<>();
+            ConfigurationSection sec = cfg.getConfigurationSection("fx.spawn.particles");
+            if (sec != null) {
+                for (String rank : sec.getKeys(false)) {
+                    map.put(rank, sec.getInt(rank, 10));
+                }
+            }
+            this.particlesByRank = Collections.unmodifiableMap(map);
+        }
+
+        public int particles(String rank) {
+            if (rank == null || rank.isBlank()) return 10;
+            return particlesByRank.getOrDefault(rank, 10);
+        }
+    }
+
+    public static final class BossName {
+        public final boolean enabled;
+        public final String text;
+        public final String color;
+
+        private BossName(ConfigurationSection cfg) {
+            this.enabled = cfg.getBoolean("boss.name.enabled", true);
+            this.text = cfg.getString("boss.name.text", "Boss");
+            this.color = cfg.getString("boss.name.color", "&c");
+        }
+    }
+
+    /* -------------------------
+       Ranks
+       ------------------------- */
+
+    /**
+     * Fallback stat multipliers (stats.*) used when a rank doesn't override them.
+     */
+    public static final class Stats {
+        public final double healthMultiplier;
+        public final double damageMultiplier;
+        public final double speedMultiplier;
+
+        private Stats(ConfigurationSection cfg) {
+            this.healthMultiplier = cfg.getDouble("stats.health_multiplier", 4.0);
+            this.damageMultiplier = cfg.getDouble("stats.damage_multiplier", 1.5);
+            this.speedMultiplier = cfg.getDouble("stats.speed_multiplier", 1.0);
+        }
+    }
+
+    public static final class Rank {
+        public final String id;
+        public final String label;
+        public final String color; // null if not set (callers pick their own fallback)
+        public final double xpMultiplier;
+        public final int maxAffixes;
+        public final double healthMultiplier;
+        public final double damageMultiplier;
+        public final double speedMultiplier;
+        public final int weight;
+
+        private Rank(String id, ConfigurationSection sec, Stats fallback, int fallbackMaxAffixes) {
+            this.id = id;
+            this.label = sec.getString("label", id);
+            this.color = sec.getString("color");
+            this.xpMultiplier = sec.getDouble("xp_multiplier", 1.0);
+            this.maxAffixes = Math.max(0, sec.getInt("max_affixes", fallbackMaxAffixes));
+            this.healthMultiplier = sec.getDouble("stats.health_multiplier", fallback.healthMultiplier);
+            this.damageMultiplier = sec.getDouble("stats.damage_multiplier", fallback.damageMultiplier);
+            this.speedMultiplier = sec.getDouble("stats.speed_multiplier", fallback.speedMultiplier);
+            this.weight = Math.max(0, sec.getInt("weight", 0));
+        }
+    }
+
+    private static Map<String, Rank> loadRanks(ConfigurationSection cfg, Stats fallback, int fallbackMaxAffixes) {
+        Map<String, Rank> out = new LinkedHashMap<>();
+        ConfigurationSection ranks = cfg.getConfigurationSection("ranks");
+        if (ranks != null) {
+            for (String id : ranks.getKeys(false)) {
+                ConfigurationSection sec = ranks.getConfigurationSection(id);
+                if (sec == null) continue;
+                out.put(id, new Rank(id, sec, fallback, fallbackMaxAffixes));
+            }
+        }
+        return Collections.unmodifiableMap(out);
+    }
+
+    private static WeightedSampler<Rank> buildRankSampler(Map<String, Rank> ranks) {
+        WeightedSampler.Builder<Rank> b = WeightedSampler.builder();
+        for (Rank rank : ranks.values()) b.add(rank, rank.weight);
+        return b.build();
+    }
+
+    /* -------------------------
+       Affixes
+       ------------------------- */
+
+    public static final class Affixes {
+        public final boolean enabled;
+        public final int maxPerBoss;
+
+        /** Affix ids present under affixes.pool (lowercase), in config order. */
+        public final Set<String> pool;
+        /** Selection weights for pool entries with weight > 0, in config order. */
+        public final Map<String, Integer> weights;
+        /** Weighted roll over the known Affix entries of {@link #weights}. */
+        public final WeightedSampler<Affix> sampler;
+        private final Map<String, Double> rankScaling;
+        private final Map<String, String> titles;
+
+        public final Mark mark;
+        public final Lifesteal lifesteal;
+        public final Knockback knockback;
+        public final Bleed bleed;
+        public final Pull pull;
+        public final Thorns thorns;
+        public final Shockwave shockwave;
+        public final Intimidate intimidate;
+
+        private Affixes(ConfigurationSection cfg) {
+            this.enabled = cfg.getBoolean("affixes.enabled", true);
+            this.maxPerBoss = Math.max(0, cfg.getInt("affixes.max_per_boss", 0));
+
+            Set<String> ids = new LinkedHashSet<>();
+            Map<String, Integer> w = new LinkedHashMap<>();
+            ConfigurationSection poolSec = cfg.getConfigurationSection("affixes.pool");
+            if (poolSec != null) {
+                for (String id : poolSec.getKeys(false)) {
+                    String lower = id.toLowerCase(Locale.ROOT);
+                    if (poolSec.isConfigurationSection(id)) ids.add(lower);
+
+                    int weight = Math.max(0, poolSec.getInt(id + ".weight", 1));
+                    if (weight > 0) w.put(lower, weight);
+                }
+            }
+            this.pool = Collections.unmodifiableSet(ids);
+            this.weights = Collections.unmodifiableMap(w);
+
+            // Only ids the combat code knows; anything else in the pool would be a silent no-op
+            WeightedSampler.Builder<Affix> sb = WeightedSampler.builder();
+            for (Map.Entry<String, Integer> e : w.entrySet()) {
+                Affix affix = Affix.fromId(e.getKey());
+                if (affix != null) sb.add(affix, e.getValue());
+            }
+            this.sampler = sb.build();
+
+            Map<String, Double> scaling = new HashMap<>();
+            ConfigurationSection scaleSec = cfg.getConfigurationSection("affixes.rank_scaling");
+            if (scaleSec != null) {
+                for (String rank : scaleSec.getKeys(false)) {
+                    scaling.put(rank, scaleSec.getDouble(rank, 1.0));
+                }
+            }
+            this.rankScaling = Collections.unmodifiableMap(scaling);
+
+            Map<String, String> t = new HashMap<>();
+            ConfigurationSection titleSec = cfg.getConfigurationSection("affix_titles");
+            if (titleSec != null) {
+                for (String id : titleSec.getKeys(false)) {
+                    String word = titleSec.getString(id, "");
+                    if (word != null && !word.isBlank()) {
+                        t.put(id.toLowerCase(Locale.ROOT), word.trim());
+                    }
+                }
+            }
+            this.titles = Collections.unmodifiableMap(t);
+
+            this.mark = new Mark(cfg);
+            this.lifesteal = new Lifesteal(cfg);
+            this.knockback = new Knockback(cfg);
+            this.bleed = new Bleed(cfg);
+            this.pull = new Pull(cfg);
+            this.thorns = new Thorns(cfg);
+            this.shockwave = new Shockwave(cfg);
+            this.intimidate = new Intimidate(cfg);
+        }
+
+        /**
+         * affixes.rank_scaling.&lt;RANK&gt;, defaulting to 1.0.
+         */
+        public double rankScale(String rank) {
+            if (rank == null || rank.isBlank()) return 1.0;
+            return rankScaling.getOrDefault(rank, 1.0);
+        }
+
+        /**
+         * affix_titles.&lt;id&gt;, or null if no title word is configured.
+         */
+        public String title(String affixId) {
+            return affixId == null ? null : titles.get(affixId);
+        }
+    }
+
+    /**
+     * Common per-affix knobs: affixes.pool.&lt;id&gt;.{enabled,chance,cooldown_ms}
+     */
+    public static class AffixSettings {
+        public final boolean enabled;
+        public final double chance;
+        public final long cooldownMs;
+        public final long cooldownTicks; // cooldown_ms rounded up to whole server ticks
+
+        AffixSettings(ConfigurationSection cfg, String id, double defaultChance, long defaultCooldownMs) {
+            String p = "affixes.pool." + id + ".";
+            this.enabled = cfg.getBoolean(p + "enabled", true);
+            this.chance = cfg.getDouble(p + "chance", defaultChance);
+            this.cooldownMs = cfg.getLong(p + "cooldown_ms", defaultCooldownMs);
+            this.cooldownTicks = (cooldownMs <= 0) ? 0L : (cooldownMs + 49L) / 50L;
+        }
+    }
+
+    public static final class Mark extends AffixSettings {
+        public final double bonusDamageMultiplier;
+        public final long markDurationMs;
+
+        private Mark(ConfigurationSection cfg) {
+            super(cfg, "mark", 0.25, 1200L);
+            this.bonusDamageMultiplier = cfg.getDouble("affixes.pool.mark.bonus_damage_multiplier", 1.5);
+            this.markDurationMs = cfg.getLong("affixes.pool.mark.mark_duration_ms", 3000L);
+        }
+    }
+
+    public static final class Lifesteal extends AffixSettings {
+        public final double healPercentOfDamage;
+
+        private Lifesteal(ConfigurationSection cfg) {
+            super(cfg, "lifesteal", 0.25, 1200L);
+            this.healPercentOfDamage = cfg.getDouble("affixes.pool.lifesteal.heal_percent_of_damage", 0.20);
+        }
+    }
+
+    public static final class Knockback extends AffixSettings {
+        public final double strength;
+        public final double upward;
+
+        private Knockback(ConfigurationSection cfg) {
+            super(cfg, "knockback", 0.30, 1000L);
+            this.strength = cfg.getDouble("affixes.pool.knockback.strength", 1.2);
+            this.upward = cfg.getDouble("affixes.pool.knockback.upward", 0.35);
+        }
+    }
+
+    public static final class Bleed extends AffixSettings {
+        public final int durationTicks;
+        public final int amplifier;
+
+        private Bleed(ConfigurationSection cfg) {
+            super(cfg, "bleed", 0.25, 1200L);
+            this.durationTicks = cfg.getInt("affixes.pool.bleed.duration_ticks", 60);
+            this.amplifier = cfg.getInt("affixes.pool.bleed.amplifier", 0);
+        }
+    }
+
+    public static final class Pull extends AffixSettings {
+        public final double force;
+
+        private Pull(ConfigurationSection cfg) {
+            super(cfg, "pull", 0.20, 1400L);
+            this.force = cfg.getDouble("affixes.pool.pull.force", 0.8);
+        }
+    }
+
+    public static final class Thorns extends AffixSettings {
+        public final double reflectPercent;
+
+        private Thorns(ConfigurationSection cfg) {
+            super(cfg, "thorns", 0.35, 1000L);
+            this.reflectPercent = cfg.getDouble("affixes.pool.thorns.reflect_percent", 0.25);
+        }
+    }
+
+    public static final class Shockwave extends AffixSettings {
+        public final double radius;
+        public final int maxTargets;
+        public final double damage;
+        public final double knockback;
+
+        private Shockwave(ConfigurationSection cfg) {
+            super(cfg, "shockwave", 0.15, 2500L);
+            this.radius = cfg.getDouble("affixes.pool.shockwave.radius", 4.0);
+            this.maxTargets = cfg.getInt("affixes.pool.shockwave.max_targets", 4);
+            this.damage = cfg.getDouble("affixes.pool.shockwave.damage", 4.0);
+            this.knockback = cfg.getDouble("affixes.pool.shockwave.knockback", 1.1);
+        }
+    }
+
+    public static final class Intimidate extends AffixSettings {
+        public final int durationTicks;
+        public final int amplifier;
+        public final PotionEffectType effect;
+
+        private Intimidate(ConfigurationSection cfg) {
+            super(cfg, "intimidate", 1.0, 3000L);
+            this.durationTicks = cfg.getInt("affixes.pool.intimidate.duration_ticks", 40);
+            this.amplifier = cfg.getInt("affixes.pool.intimidate.amplifier", 0);
+
+            String name = cfg.getString("affixes.pool.intimidate.effect", "SLOWNESS");
+            PotionEffectType parsed = PotionEffectType.getByName(name == null ? "" : name.toUpperCase(Locale.ROOT));
+            this.effect = (parsed != null) ? parsed : PotionEffectType.SLOWNESS;
+        }
+    }
+
+    /* -------------------------
+       Raffle
+       ------------------------- */
+
+    public static final class Raffle {
+        public final boolean debug;
+        public final int maxSlotsPerArmor;
+        public final long cooldownMs;
+        public final boolean requireTokenMainhand;
+        public final boolean requireArmorOffhand;
+
+        public final String msgSuccess;
+        public final String msgFailNoArmor;  // null -> fall back to fail_generic
+        public final String msgFailNotArmor; // null -> fall back to fail_generic
+        public final String msgFailGeneric;
+
+        public final RaffleSound successSound;
+        public final RaffleSound failSound;
+
+        private Raffle(ConfigurationSection cfg) {
+            this.debug = cfg.getBoolean("raffle.debug", false);
+            this.maxSlotsPerArmor = cfg.getInt("raffle.max_slots_per_armor", RaffleService.DEFAULT_MAX_SLOTS);
+            this.cooldownMs = cfg.getLong("raffle.cooldown_ms", 250L);
+            this.requireTokenMainhand = cfg.getBoolean("raffle.require_token_mainhand", true);
+            this.requireArmorOffhand = cfg.getBoolean("raffle.require_armor_offhand", true);
+
+            this.msgSuccess = cfg.getString("raffle.message.success", "&dSomething shifts within the armor...");
+            this.msgFailNoArmor = blankToNull(cfg.getString("raffle.message.fail_no_armor"));
+            this.msgFailNotArmor = blankToNull(cfg.getString("raffle.message.fail_not_armor"));
+            this.msgFailGeneric = cfg.getString("raffle.message.fail_generic", "&c{reason}");
+
+            this.successSound = new RaffleSound(cfg, "raffle.sound.success.", "BLOCK_ENCHANTMENT_TABLE_USE", 0.8, 1.2);
+            this.failSound = new RaffleSound(cfg, "raffle.sound.fail.", "BLOCK_NOTE_BLOCK_BASS", 0.7, 0.9);
+        }
+    }
+
+    public static final class RaffleSound {
+        public final boolean enabled;
+        public final Sound sound; // null if invalid
+        public final float volume;
+        public final float pitch;
+
+        private RaffleSound(ConfigurationSection cfg, String path, String defKey, double defVolume, double defPitch) {
+            this.enabled = cfg.getBoolean(path + "enabled", true);
+            this.sound = parseSound(cfg.getString(path + "key", defKey));
+            this.volume = (float) cfg.getDouble(path + "volume", defVolume);
+            this.pitch = (float) cfg.getDouble(path + "pitch", defPitch);
+        }
+    }
+
+    /* -------------------------
+       Performance
+       ------------------------- */
+
+    public static final class Performance {
+        /** Per-tick time budget for deferred work (TickBudgetScheduler). */
+        public final long tickBudgetNanos;
+
+        /** Every player with a profile gets one keep-alive per this many ticks. */
+        public final int keepAliveTicks;
+        /** Players are split into this many shards, spread evenly over the period. */
+        public final int keepAliveBuckets;
+
+        private Performance(ConfigurationSection cfg) {
+            double ms = cfg.getDouble("performance.tick_budget_ms", 2.0);
+            this.tickBudgetNanos = (long) (Math.max(0.1, Math.min(50.0, ms)) * 1_000_000L);
+
+            // a keep-alive must land before the shortest managed potion runs out, even when
+            // it is late by the arbiter's slack; never above 60 (today's shortest potion,
+            // 120 ticks, would allow 110)
+            int maxKeepAlive = Math.min(60, PotionArbiter.maxKeepAliveTicks());
+            this.keepAliveTicks = Math.max(10, Math.min(maxKeepAlive, cfg.getInt("performance.keep_alive_ticks", 40)));
+            this.keepAliveBuckets = Math.max(1, Math.min(keepAliveTicks, cfg.getInt("performance.keep_alive_buckets", 20)));
+        }
+    }
+
+    /* -------------------------
+       Helpers
+       ------------------------- */
+
+    private static Sound parseSound(String key) {
+        if (key == null) return null;
+        try {
+            return Sound.valueOf(key.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ignored) {
+            return null;
+        }
+    }
+
+    private static String blankToNull(String s) {
+        return (s == null || s.isBlank()) ? null : s;
+    }
+}
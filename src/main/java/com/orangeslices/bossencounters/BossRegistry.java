@@ -0,0 +1,267 @@
+package com.orangeslices.bossencounters;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import com.orangeslices.bossencounters.affix.Affix;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+
+/**
+ * Live bosses keyed by entity id.
+ *
+ * Damage events for ordinary mobs vastly outnumber boss events, so the "is this a boss?"
+ * check is a single probe into a primitive int-keyed table (no boxing, no PDC read).
+ *
+ * Populated by BossApplier.applyBossStats and when a flagged entity is added to a world
+ * (chunk load / server start). Evicted on death and on removal from the world, which also
+ * frees the boss's affix cooldown table.
+ *
+ * Copy-on-write: lookups (every hit, from any region thread on Folia) read a published
+ * table without locking; the rare writes (spawn, load, death, unload) are serialised,
+ * apply to a copy and publish it, so a reader never sees a table mid-grow or mid-shift.
+ */
+public final class BossRegistry implements Listener {
+
+    private final BossEncountersPlugin plugin;
+    private volatile IntStateTable table = new IntStateTable(64);
+
+    public BossRegistry(BossEncountersPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /* -------------------------
+       Lookups
+       ------------------------- */
+
+    /**
+     * Resolved boss state, or null if the entity is not a (registered) boss.
+     */
+    public BossState get(Entity entity) {
+        if (entity == null) return null;
+        return table.get(entity.getEntityId());
+    }
+
+    public boolean isBoss(Entity entity) {
+        return get(entity) != null;
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    /* -------------------------
+       Registration
+       ------------------------- */
+
+    /**
+     * (Re)reads the boss data from the entity's PDC and stores it.
+     * Returns null (and evicts) if the entity isn't flagged as a boss.
+     */
+    public synchronized BossState register(LivingEntity entity) {
+        BossApplier applier = plugin.bossApplier();
+        if (!applier.hasBossFlag(entity)) {
+            unregister(entity);
+            return null;
+        }
+
+        BossState previous = table.get(entity.getEntityId());
+        int spawnTick = (previous != null) ? previous.spawnTick : Bukkit.getCurrentTick();
+
+        String affixes = applier.readAffixes(entity);
+        long affixMask = Affix.parseMask(affixes);
+
+        BossState state = new BossState(
+                entity.getEntityId(),
+                entity.getUniqueId(),
+                applier.readRank(entity),
+                affixes,
+                affixMask,
+                applier.readTitle(entity),
+                spawnTick,
+                plugin.affixHandlers().resolve(affixMask),
+                (previous != null) ? previous.cooldowns() : null
+        );
+        IntStateTable next = table.copy();
+        next.put(state.entityId, state);
+        table = next;
+        return state;
+    }
+
+    public void unregister(Entity entity) {
+        if (entity == null) return;
+        // every entity removal lands here; only take the lock for actual bosses
+        if (table.get(entity.getEntityId()) == null) return;
+        evict(entity.getEntityId());
+    }
+
+    private synchronized void evict(int entityId) {
+        if (table.get(entityId) == null) return;
+
+        IntStateTable next = table.copy();
+        next.remove(entityId);
+        table = next;
+    }
+
+    /**
+     * Picks up bosses that were already loaded before the plugin enabled (e.g. /reload).
+     * Folia has no /reload and can't walk entities across regions from here; bosses are
+     * registered by EntityAddToWorldEvent as their chunks load.
+     */
+    public void scanLoadedWorlds() {
+        if (plugin.scheduler().regionised()) return;
+
+        for (World world : Bukkit.getWorlds()) {
+            for (LivingEntity entity : world.getLivingEntities()) {
+                if (plugin.bossApplier().hasBossFlag(entity)) {
+                    register(entity);
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        table = new IntStateTable(64);
+    }
+
+    /* -------------------------
+       Lifecycle events
+       ------------------------- */
+
+    @EventHandler
+    public void onEntityAdd(EntityAddToWorldEvent event) {
+        if (!(event.getEntity() instanceof LivingEntity entity)) return;
+        if (!plugin.bossApplier().hasBossFlag(entity)) return;
+        register(entity);
+    }
+
+    // MONITOR: death listeners at normal priority still see the state
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityDeath(EntityDeathEvent event) {
+        unregister(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveFromWorldEvent event) {
+        unregister(event.getEntity());
+    }
+
+    /* -------------------------
+       Open-addressing int -> BossState table
+       ------------------------- */
+
+    /**
+     * Linear probing, power-of-two capacity, backward-shift deletion (no tombstones).
+     * A null value marks an empty slot, so every int (including 0) is a valid key.
+     * Not thread-safe on its own; BossRegistry never mutates a published instance.
+     */
+    static final class IntStateTable {
+
+        private int[] keys;
+        private BossState[] values;
+        private int mask;
+        private int size;
+
+        IntStateTable(int initialCapacity) {
+            int cap = Integer.highestOneBit(Math.max(4, initialCapacity - 1)) << 1;
+            keys = new int[cap];
+            values = new BossState[cap];
+            mask = cap - 1;
+        }
+
+        private IntStateTable(IntStateTable from) {
+            keys = from.keys.clone();
+            values = from.values.clone();
+            mask = from.mask;
+            size = from.size;
+        }
+
+        IntStateTable copy() {
+            return new IntStateTable(this);
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        BossState get(int key) {
+            int i = mix(key) & mask;
+            BossState v;
+            while ((v = values[i]) != null) {
+                if (keys[i] == key) return v;
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        void put(int key, BossState value) {
+            int i = mix(key) & mask;
+            while (values[i] != null) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            if (++size > (mask + 1) * 3 / 4) grow();
+        }
+
+        void remove(int key) {
+            int i = mix(key) & mask;
+            while (values[i] != null) {
+                if (keys[i] == key) {
+                    shiftBack(i);
+                    size--;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        private void shiftBack(int hole) {
+            int i = hole;
+            while (true) {
+                i = (i + 1) & mask;
+                BossState v = values[i];
+                if (v == null) break;
+
+                int home = mix(keys[i]) & mask;
+                // move entry i into the hole if its home slot isn't in (hole, i]
+                boolean between = (hole <= i) ? (hole < home && home <= i) : (hole < home || home <= i);
+                if (!between) {
+                    keys[hole] = keys[i];
+                    values[hole] = v;
+                    hole = i;
+                }
+            }
+            values[hole] = null;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            BossState[] oldValues = values;
+
+            int cap = oldKeys.length << 1;
+            keys = new int[cap];
+            values = new BossState[cap];
+            mask = cap - 1;
+            size = 0;
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.orangeslices.bossencounters;
+
+import com.orangeslices.bossencounters.affix.Affix;
+import com.orangeslices.bossencounters.affix.AffixHandler;
+import com.orangeslices.bossencounters.affix.AffixTrigger;
+
+import java.util.UUID;
+
+/**
+ * Resolved, in-memory view of a live boss.
+ *
+ * Built once from the entity's PDC (on boss creation or when the entity is added to a world)
+ * and held by BossRegistry, so combat/death listeners don't re-read the PDC per event.
+ * The PDC stays the persistent source of truth.
+ */
+public final class BossState {
+
+    public final int entityId;
+    public final UUID uuid;
+
+    public final String rank;    // as stored in PDC (may be null)
+    public final String affixes; // CSV as stored in PDC (may be null)
+    public final long affixMask; // Affix bits, parsed once from the CSV
+    public final String title;   // may be null
+
+    /**
+     * Server tick the boss was first seen this session (spawn tick for fresh bosses,
+     * load tick for bosses restored from disk).
+     */
+    public final int spawnTick;
+
+    // AffixTrigger ordinal -> handlers this boss runs for that trigger
+    private final AffixHandler[][] handlers;
+
+    // Affix ordinal -> first server tick the affix may proc again (0 = ready)
+    private final long[] nextProcTick;
+
+    // set while the boss sits in LethalSafetySweep's queue (dedupes repeated hits);
+    // guarded by the sweep's monitor
+    boolean lethalCheckQueued;
+
+    BossState(int entityId, UUID uuid, String rank, String affixes, long affixMask, String title,
+              int spawnTick, AffixHandler[][] handlers, long[] nextProcTick) {
+        this.entityId = entityId;
+        this.uuid = uuid;
+        this.rank = rank;
+        this.affixes = affixes;
+        this.affixMask = affixMask;
+        this.title = title;
+        this.spawnTick = spawnTick;
+        this.handlers = handlers;
+        this.nextProcTick = (nextProcTick != null) ? nextProcTick : new long[Affix.values().length];
+    }
+
+    public boolean hasAffixes() {
+        return affixMask != 0L;
+    }
+
+    public boolean has(Affix affix) {
+        return (affixMask & affix.bit()) != 0L;
+    }
+
+    /* -------------------------
+       Affix cooldowns (server ticks)
+       ------------------------- */
+
+    public boolean cooldownReady(Affix affix, long nowTick) {
+        return nowTick >= nextProcTick[affix.ordinal()];
+    }
+
+    public void startCooldown(Affix affix, long nowTick, long cooldownTicks) {
+        nextProcTick[affix.ordinal()] = nowTick + Math.max(0L, cooldownTicks);
+    }
+
+    /**
+     * Cooldown table, carried over when the entry is re-resolved (see BossRegistry.register).
+     */
+    long[] cooldowns() {
+        return nextProcTick;
+    }
+
+    /**
+     * Handlers to run for a trigger (possibly empty, never null).
+     */
+    public AffixHandler[] handlers(AffixTrigger trigger) {
+        return handlers[trigger.ordinal()];
+    }
+}
@@ -0,0 +1,69 @@
+package com.orangeslices.bossencounters;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+
+/**
+ * The plugin's only damage listener.
+ *
+ * Classifies each event once (boss attacker, boss victim, player hit) and routes it:
+ * boss affix handlers first, then weapon add-ons. Events that involve neither a boss
+ * nor a player attacker leave after two registry probes.
+ *
+ * Cancellation is checked per hook, as the separate listeners did: each affix hook skips
+ * an event already cancelled (including by an earlier hook), add-ons run regardless.
+ */
+public final class DamageDispatcher implements Listener {
+
+    private final BossEncountersPlugin plugin;
+    private final AffixListener affixes;
+    private final AddOnEffectListener addOnEffects;
+
+    public DamageDispatcher(BossEncountersPlugin plugin, AffixListener affixes, AddOnEffectListener addOnEffects) {
+        this.plugin = plugin;
+        this.affixes = affixes;
+        this.addOnEffects = addOnEffects;
+    }
+
+    @EventHandler(priority = EventPriority.NORMAL)
+    public void onDamage(EntityDamageEvent event) {
+        if (!(event.getEntity() instanceof LivingEntity victim)) return;
+
+        BossRegistry registry = plugin.bossRegistry();
+        BossState victimBoss = registry.get(victim);
+
+        if (event instanceof EntityDamageByEntityEvent byEntity) {
+            Entity damager = byEntity.getDamager();
+
+            // Boss attacker
+            if (damager instanceof LivingEntity attacker) {
+                BossState attackerBoss = registry.get(attacker);
+                if (attackerBoss != null && !event.isCancelled()) {
+                    affixes.onBossAttack(byEntity, attacker, attackerBoss, victim);
+                }
+            }
+
+            // Boss victim (hit by an entity)
+            if (victimBoss != null && !event.isCancelled()) {
+                affixes.onBossHurt(byEntity, victim, victimBoss);
+            }
+        }
+
+        // Boss victim (any cause)
+        if (victimBoss != null && !event.isCancelled()) {
+            affixes.onBossDamagedAny(event, victim, victimBoss);
+        }
+
+        // Player weapon add-ons (after boss handlers, as before)
+        if (event instanceof EntityDamageByEntityEvent byEntity
+                && byEntity.getDamager() instanceof Player player) {
+            addOnEffects.onPlayerHit(byEntity, player, victim);
+        }
+    }
+}
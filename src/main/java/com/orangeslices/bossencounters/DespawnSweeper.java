@@ -0,0 +1,155 @@
+package com.orangeslices.bossencounters;
+
+import com.orangeslices.bossencounters.scheduler.TaskScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Mob;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Idle-boss despawn ("despawn" config section).
+ *
+ * Bosses are kept in a min-heap ordered by deadline tick; one 1-tick task hands due
+ * bosses to the TickBudgetScheduler as one check each. A boss that still has a player
+ * nearby (or a target) is re-queued with a doubling back-off, capped at
+ * despawn.after_seconds, instead of scheduling a new BukkitTask per boss per retry.
+ *
+ * Cancelling only drops the boss from the index; its stale heap entry is skipped
+ * when it comes up.
+ *
+ * The heap is shared between the global sweep and boss spawn / removal (any region on
+ * Folia), so it is guarded by this object; the check itself runs on the boss's thread.
+ */
+public final class DespawnSweeper {
+
+    // first re-check after a failed attempt (10s), doubled each time
+    private static final long RECHECK_MIN_TICKS = 200L;
+
+    private final BossEncountersPlugin plugin;
+    private final Consumer<LivingEntity> beforeRemove;
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private final Map<UUID, Entry> byBoss = new HashMap<>();
+
+    private TaskScheduler.Task task;
+
+    /**
+     * @param beforeRemove called right before a boss is removed (despawn message)
+     */
+    public DespawnSweeper(BossEncountersPlugin plugin, Consumer<LivingEntity> beforeRemove) {
+        this.plugin = plugin;
+        this.beforeRemove = beforeRemove;
+    }
+
+    public void start() {
+        if (task != null) task.cancel();
+        task = plugin.scheduler().runGlobalTimer(this::sweep, 1L, 1L);
+    }
+
+    public synchronized void stop() {
+        if (task != null) task.cancel();
+        task = null;
+        queue.clear();
+        byBoss.clear();
+    }
+
+    /**
+     * (Re)start the despawn countdown for this boss. No-op when despawn is disabled.
+     */
+    public synchronized void schedule(LivingEntity boss) {
+        BossEncountersSettings.Despawn despawn = plugin.settings().despawn;
+        if (!despawn.enabled) return;
+
+        cancel(boss.getUniqueId());
+        enqueue(boss, despawn.delayTicks, RECHECK_MIN_TICKS);
+    }
+
+    public synchronized void cancel(UUID bossId) {
+        Entry e = byBoss.remove(bossId);
+        if (e != null) e.cancelled = true;
+    }
+
+    public synchronized int size() {
+        return byBoss.size();
+    }
+
+    private synchronized void enqueue(LivingEntity boss, long delayTicks, long nextBackoff) {
+        Entry e = new Entry(boss, Bukkit.getCurrentTick() + delayTicks, nextBackoff);
+        byBoss.put(boss.getUniqueId(), e);
+        queue.add(e);
+    }
+
+    /* -------------------------
+       Sweep
+       ------------------------- */
+
+    private void sweep() {
+        long now = Bukkit.getCurrentTick();
+
+        List<Entry> due = new ArrayList<>();
+        synchronized (this) {
+            Entry e;
+            while ((e = queue.peek()) != null && e.deadline <= now) {
+                queue.poll();
+                if (!e.cancelled) due.add(e);
+            }
+        }
+
+        for (Entry e : due) {
+            plugin.tickBudget().submit(() -> plugin.scheduler().runFor(e.boss, () -> check(e)));
+        }
+    }
+
+    private void check(Entry e) {
+        LivingEntity boss = e.boss;
+        synchronized (this) {
+            // cancelled / rescheduled while waiting for budget
+            if (e.cancelled) return;
+            byBoss.remove(boss.getUniqueId());
+        }
+
+        // Boss might already be dead/removed
+        if (!boss.isValid() || boss.isDead()) return;
+
+        BossEncountersSettings.Despawn despawn = plugin.settings().despawn;
+        if (!despawn.enabled) return;
+
+        boolean hasTarget = boss instanceof Mob m && m.getTarget() != null;
+
+        // If conditions aren't met, check again later instead of despawning
+        if ((despawn.requireNoTarget && hasTarget)
+                || plugin.playerPositions().anyWithin(boss.getLocation(), despawn.onlyIfNoPlayersWithin)) {
+            long delay = Math.min(e.backoff, despawn.delayTicks);
+            enqueue(boss, delay, Math.min(e.backoff * 2, despawn.delayTicks));
+            return;
+        }
+
+        beforeRemove.accept(boss);
+        boss.remove();
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        final LivingEntity boss;
+        final long deadline;
+        final long backoff;
+        boolean cancelled;
+
+        Entry(LivingEntity boss, long deadline, long backoff) {
+            this.boss = boss;
+            this.deadline = deadline;
+            this.backoff = backoff;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            return Long.compare(deadline, o.deadline);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.orangeslices.bossencounters;
+
+import com.orangeslices.bossencounters.raffle.EffectVector;
+import com.orangeslices.bossencounters.raffle.RaffleEffectCache;
+import com.orangeslices.bossencounters.raffle.RaffleEffectId;
+import com.orangeslices.bossencounters.raffle.RaffleKeys;
+import io.papermc.paper.persistence.PersistentDataContainerView;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.Arrays;
+
+/**
+ * Everything the effect engines need from a player's gear, decoded once per equipment
+ * change (EquipmentTracker) and shared by all of them.
+ *
+ * Holds raffle levels per armor slot and merged (highest wins), plus potion add-on
+ * levels (clamped 0..2). Immutable, so it can be built off the main thread from a
+ * Snapshot.
+ */
+public final class EquipmentProfile {
+
+    public static final EquipmentProfile EMPTY = new EquipmentProfile(
+            emptySlots(), EffectVector.EMPTY, 0, 0, 0, 0, 0, 0);
+
+    // armor slot order: HEAD, CHEST, LEGS, FEET
+    private static final int HEAD = 0, CHEST = 1, LEGS = 2, FEET = 3;
+
+    // frozen vectors
+    private final EffectVector[] raffleBySlot;
+    private final EffectVector raffle;
+
+    // Potion add-ons
+    public final int haste;
+    public final int strength;
+    public final int fireRes;
+    public final int healthBoost;
+    public final int waterBreathing;
+    public final int nightVision;
+
+    private EquipmentProfile(EffectVector[] raffleBySlot, EffectVector raffle,
+                             int haste, int strength, int fireRes, int healthBoost,
+                             int waterBreathing, int nightVision) {
+        this.raffleBySlot = raffleBySlot;
+        this.raffle = raffle;
+        this.haste = haste;
+        this.strength = strength;
+        this.fireRes = fireRes;
+        this.healthBoost = healthBoost;
+        this.waterBreathing = waterBreathing;
+        this.nightVision = nightVision;
+    }
+
+    /**
+     * Merged raffle effects across all armor (read-only).
+     */
+    public EffectVector raffleEffects() {
+        return raffle;
+    }
+
+    public int raffleLevel(RaffleEffectId id) {
+        return raffle.get(id);
+    }
+
+    /**
+     * Raffle level on one armor piece; 0 for non-armor slots.
+     */
+    public int raffleLevel(EquipmentSlot slot, RaffleEffectId id) {
+        int i = slotIndex(slot);
+        return i < 0 ? 0 : raffleBySlot[i].get(id);
+    }
+
+    public boolean hasRaffleEffects() {
+        return !raffle.isEmpty();
+    }
+
+    public boolean hasPotionAddOns() {
+        return (haste | strength | fireRes | healthBoost | waterBreathing | nightVision) != 0;
+    }
+
+    public boolean isEmpty() {
+        return !hasRaffleEffects() && !hasPotionAddOns();
+    }
+
+    private static int slotIndex(EquipmentSlot slot) {
+        return switch (slot) {
+            case HEAD -> HEAD;
+            case CHEST -> CHEST;
+            case LEGS -> LEGS;
+            case FEET -> FEET;
+            default -> -1;
+        };
+    }
+
+    private static EffectVector[] emptySlots() {
+        EffectVector[] slots = new EffectVector[4];
+        Arrays.fill(slots, EffectVector.EMPTY);
+        return slots;
+    }
+
+    /* -------------------------
+       Reader
+       ------------------------- */
+
+    /**
+     * Builds profiles. Each item's PDC is read once, through the ItemStack view
+     * (no ItemMeta copy).
+     */
+    public static final class Reader {
+
+        private final NamespacedKey hasteKey;
+        private final NamespacedKey strengthKey;
+
+        private final NamespacedKey fireResKey;
+        private final NamespacedKey waterBreathingKey;
+        private final NamespacedKey nightVisionKey;
+        private final NamespacedKey healthBoostKey;
+
+        public Reader(BossEncountersPlugin plugin) {
+            this.hasteKey = new NamespacedKey(plugin, "haste_level");
+            this.strengthKey = new NamespacedKey(plugin, "strength_level");
+
+            this.fireResKey = new NamespacedKey(plugin, "fire_res_level");
+            this.waterBreathingKey = new NamespacedKey(plugin, "water_breathing_level");
+            this.nightVisionKey = new NamespacedKey(plugin, "night_vision_level");
+            this.healthBoostKey = new NamespacedKey(plugin, "health_boost_level");
+        }
+
+        /**
+         * Main-thread read + decode in one go.
+         */
+        public EquipmentProfile read(Player player) {
+            return snapshot(player).decode();
+        }
+
+        /**
+         * Copies the raw payloads out of the player's gear. Main thread only; the
+         * returned snapshot can be decoded on any thread.
+         */
+        public Snapshot snapshot(Player player) {
+            PlayerInventory inv = player.getInventory();
+
+            PersistentDataContainerView[] armor = {
+                    view(inv.getHelmet()),
+                    view(inv.getChestplate()),
+                    view(inv.getLeggings()),
+                    view(inv.getBoots())
+            };
+            PersistentDataContainerView hand = view(inv.getItemInMainHand());
+
+            // Raffle: raw payloads only (decoded in Snapshot.decode)
+            byte[][] data = new byte[armor.length][];
+            String[] legacy = new String[armor.length];
+            for (int i = 0; i < armor.length; i++) {
+                if (armor[i] == null) continue;
+                data[i] = armor[i].get(RaffleKeys.EFFECT_DATA, PersistentDataType.BYTE_ARRAY);
+                if (data[i] == null) legacy[i] = armor[i].get(RaffleKeys.EFFECTS, PersistentDataType.STRING);
+            }
+
+            // Potion add-ons: held item + armor
+            int haste = level(hand, hasteKey);
+            int strength = level(hand, strengthKey);
+
+            int fireRes = 0;
+            int healthBoost = 0;
+            for (PersistentDataContainerView pdc : armor) {
+                fireRes = Math.max(fireRes, level(pdc, fireResKey));
+                healthBoost = Math.max(healthBoost, level(pdc, healthBoostKey));
+            }
+
+            int water = level(armor[HEAD], waterBreathingKey);
+            int night = level(armor[HEAD], nightVisionKey);
+
+            return new Snapshot(data, legacy, haste, strength, fireRes, healthBoost, water, night);
+        }
+
+        private static PersistentDataContainerView view(ItemStack item) {
+            if (item == null || item.isEmpty()) return null;
+            PersistentDataContainerView pdc = item.getPersistentDataContainer();
+            return pdc.isEmpty() ? null : pdc;
+        }
+
+        private static int level(PersistentDataContainerView pdc, NamespacedKey key) {
+            if (pdc == null) return 0;
+            int lvl = pdc.getOrDefault(key, PersistentDataType.INTEGER, 0);
+            return Math.max(0, Math.min(2, lvl));
+        }
+    }
+
+    /* -------------------------
+       Snapshot
+       ------------------------- */
+
+    /**
+     * Raw raffle payloads (BYTE_ARRAY copies / legacy strings) plus the already-read
+     * add-on levels. Holds no Bukkit objects.
+     */
+    public static final class Snapshot {
+
+        private final byte[][] raffleData;
+        private final String[] raffleLegacy;
+        private final int haste, strength, fireRes, healthBoost, waterBreathing, nightVision;
+
+        private Snapshot(byte[][] raffleData, String[] raffleLegacy,
+                         int haste, int strength, int fireRes, int healthBoost,
+                         int waterBreathing, int nightVision) {
+            this.raffleData = raffleData;
+            this.raffleLegacy = raffleLegacy;
+            this.haste = haste;
+            this.strength = strength;
+            this.fireRes = fireRes;
+            this.healthBoost = healthBoost;
+            this.waterBreathing = waterBreathing;
+            this.nightVision = nightVision;
+        }
+
+        /**
+         * True if some armor piece carries raffle data (worth decoding off-thread).
+         */
+        public boolean hasRaffleData() {
+            for (int i = 0; i < raffleData.length; i++) {
+                if (raffleData[i] != null || raffleLegacy[i] != null) return true;
+            }
+            return false;
+        }
+
+        /**
+         * Decodes and merges the raffle payloads. Thread-safe.
+         */
+        public EquipmentProfile decode() {
+            EffectVector[] bySlot = emptySlots();
+            EffectVector merged = new EffectVector();
+            for (int i = 0; i < raffleData.length; i++) {
+                // frozen, shared with every other piece carrying the same roll
+                EffectVector levels = RaffleEffectCache.get(raffleData[i], raffleLegacy[i]);
+                if (levels.isEmpty()) continue;
+
+                bySlot[i] = levels;
+                merged.mergeHighest(levels);
+            }
+
+            if (merged.isEmpty() && (haste | strength | fireRes | healthBoost | waterBreathing | nightVision) == 0) {
+                return EMPTY;
+            }
+
+            return new EquipmentProfile(bySlot,
+                    merged.isEmpty() ? EffectVector.EMPTY : merged.freeze(),
+                    haste, strength, fireRes, healthBoost, waterBreathing, nightVision);
+        }
+    }
+}
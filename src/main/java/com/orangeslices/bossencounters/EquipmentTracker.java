@@ -0,0 +1,410 @@
+package com.orangeslices.bossencounters;
+
+import com.destroystokyo.paper.event.player.PlayerArmorChangeEvent;
+import com.orangeslices.bossencounters.scheduler.TaskScheduler;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemBreakEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tells the effect engines when a player's armor / held item may have changed.
+ *
+ * Equipment events only mark the player dirty; a 1-tick task drains the dirty set
+ * (after the inventory change has actually happened), rebuilds that player's
+ * EquipmentProfile once and hands it to every subscriber. A slow keep-alive pass passes
+ * the cached profile again so potion effects can be re-applied without reading items.
+ * Players are sharded by UUID hash (performance.keep_alive_buckets) and the shards are
+ * spread evenly over the keep-alive period, each player as one TickBudgetScheduler
+ * unit, so the per-tick cost stays flat as the player count grows.
+ *
+ * Rebuilding is split: the drain copies the raw PDC payloads on the player's own thread
+ * (EquipmentProfile.Snapshot), a small daemon pool decodes them, and the next drain
+ * publishes the finished profiles to subscribers back on that thread, so every Bukkit
+ * call stays where it belongs. A per-player sequence number drops results that were
+ * overtaken by a newer snapshot.
+ *
+ * The drain / keep-alive timers run globally; anything touching a player is dispatched
+ * via TaskScheduler.runFor (inline on Paper, the player's region on Folia), so the shared
+ * state here is concurrent.
+ */
+public final class EquipmentTracker implements Listener {
+
+    /**
+     * Engines that react to equipment changes.
+     */
+    public interface Subscriber {
+
+        /** Gear may have changed; profile is freshly rebuilt (EMPTY if nothing relevant). */
+        void onEquipmentChanged(Player player, EquipmentProfile profile);
+
+        /** Periodic refresh (e.g. potion durations); only called for non-empty profiles. */
+        default void onKeepAlive(Player player, EquipmentProfile profile) {
+        }
+
+        /** Before the first onEquipmentChanged for this session. */
+        default void onPlayerJoin(Player player) {
+        }
+
+        default void onPlayerQuit(Player player) {
+        }
+    }
+
+    // decode work is tiny per player; a couple of threads is plenty
+    private static final int DECODE_THREADS = 2;
+
+    private final BossEncountersPlugin plugin;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final EquipmentProfile.Reader reader;
+
+    // Current profile per online player; players without relevant gear are absent
+    private final Map<UUID, EquipmentProfile> profiles = new ConcurrentHashMap<>();
+
+    // Keep-alive shards over the profiles' keys (by UUID hash)
+    private volatile List<Set<UUID>> shards = List.of();
+    private int shardCursor;
+    private int keepAliveClock;
+
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    // Off-thread decode: latest submitted sequence per player,
+    // finished profiles waiting for the next drain
+    private final Map<UUID, Integer> pending = new ConcurrentHashMap<>();
+    private final Queue<Decoded> decoded = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger nextSeq = new AtomicInteger();
+    private volatile ExecutorService decoder;
+
+    private TaskScheduler.Task drainTask;
+    private TaskScheduler.Task keepAliveTask;
+
+    public EquipmentTracker(BossEncountersPlugin plugin) {
+        this.plugin = plugin;
+        this.reader = new EquipmentProfile.Reader(plugin);
+    }
+
+    public void start() {
+        stop();
+
+        // players already online (plugin reload) get a full resolve on the first drain
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            markDirty(player);
+        }
+
+        decoder = Executors.newFixedThreadPool(DECODE_THREADS, r -> {
+            Thread t = new Thread(r, "BossEncounters-EquipmentDecode");
+            t.setDaemon(true);
+            return t;
+        });
+
+        drainTask = plugin.scheduler().runGlobalTimer(this::drain, 1L, 1L);
+        keepAliveTask = plugin.scheduler().runGlobalTimer(this::keepAlive, 1L, 1L);
+    }
+
+    public void stop() {
+        if (drainTask != null) drainTask.cancel();
+        if (keepAliveTask != null) keepAliveTask.cancel();
+        drainTask = null;
+        keepAliveTask = null;
+
+        if (decoder != null) decoder.shutdownNow();
+        decoder = null;
+
+        dirty.clear();
+        pending.clear();
+        decoded.clear();
+        profiles.clear();
+        shards = List.of();
+    }
+
+    public void subscribe(Subscriber subscriber) {
+        if (subscriber != null && !subscribers.contains(subscriber)) subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Last built profile for this player (EMPTY if none / not yet built).
+     */
+    public EquipmentProfile profile(Player player) {
+        return profiles.getOrDefault(player.getUniqueId(), EquipmentProfile.EMPTY);
+    }
+
+    /**
+     * Queue a re-resolve for the next tick. Cheap; safe to call repeatedly.
+     */
+    public void markDirty(Player player) {
+        if (player != null) dirty.add(player.getUniqueId());
+    }
+
+    private void drain() {
+        publishDecoded();
+        if (dirty.isEmpty()) return;
+
+        // copy first: subscribers may touch equipment and mark the player again
+        for (UUID id : List.copyOf(dirty)) {
+            dirty.remove(id);
+
+            Player player = plugin.getServer().getPlayer(id);
+            if (player == null || !player.isOnline()) continue;
+
+            plugin.scheduler().runFor(player, () -> resolve(player));
+        }
+    }
+
+    /**
+     * Snapshot the player's gear and hand it to the decoder. Player's thread.
+     */
+    private void resolve(Player player) {
+        if (!player.isOnline()) return;
+
+        UUID id = player.getUniqueId();
+        EquipmentProfile.Snapshot snapshot = reader.snapshot(player);
+        int seq = nextSeq.incrementAndGet();
+        pending.put(id, seq);
+
+        // nothing to decode (add-ons only / bare gear): publish right away
+        if (!snapshot.hasRaffleData() || !submit(id, seq, snapshot)) {
+            publish(player, seq, snapshot.decode());
+        }
+    }
+
+    private boolean submit(UUID id, int seq, EquipmentProfile.Snapshot snapshot) {
+        ExecutorService decoder = this.decoder;
+        if (decoder == null) return false;
+        try {
+            decoder.execute(() -> decoded.add(new Decoded(id, seq, snapshot.decode())));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void publishDecoded() {
+        Decoded d;
+        while ((d = decoded.poll()) != null) {
+            Player player = plugin.getServer().getPlayer(d.player());
+            if (player == null || !player.isOnline()) continue;
+            Decoded done = d;
+            plugin.scheduler().runFor(player, () -> publish(player, done.seq(), done.profile()));
+        }
+    }
+
+    /**
+     * Store the profile and notify subscribers, unless a newer snapshot replaced it.
+     * Player's thread.
+     */
+    private void publish(Player player, int seq, EquipmentProfile profile) {
+        UUID id = player.getUniqueId();
+        if (!pending.remove(id, seq)) return;
+
+        if (profile.isEmpty()) forget(id);
+        else store(id, profile);
+
+        for (Subscriber s : subscribers) {
+            s.onEquipmentChanged(player, profile);
+        }
+    }
+
+    private void store(UUID id, EquipmentProfile profile) {
+        List<Set<UUID>> current = shards;
+        if (profiles.put(id, profile) == null && !current.isEmpty()) {
+            current.get(shardOf(id, current.size())).add(id);
+        }
+    }
+
+    private void forget(UUID id) {
+        List<Set<UUID>> current = shards;
+        if (profiles.remove(id) != null && !current.isEmpty()) {
+            current.get(shardOf(id, current.size())).remove(id);
+        }
+    }
+
+    private static int shardOf(UUID id, int buckets) {
+        return Math.floorMod(id.hashCode(), buckets);
+    }
+
+    /**
+     * Runs every tick. The period (performance.keep_alive_ticks) is split evenly between
+     * the buckets: bucket b goes to the tick budget on the first tick where
+     * clock * buckets / period passes b, so every shard is visited exactly once per
+     * period and each player is refreshed every keep_alive_ticks, which is the margin
+     * PotionArbiter refreshes against.
+     */
+    private void keepAlive() {
+        BossEncountersSettings.Performance perf = plugin.settings().performance;
+        int period = perf.keepAliveTicks;
+        int buckets = perf.keepAliveBuckets;
+        if (shards.size() != buckets) reshard(buckets);
+
+        // period shortened by a reload: start a fresh round
+        if (keepAliveClock >= period) {
+            keepAliveClock = 0;
+            shardCursor = 0;
+        }
+
+        // buckets <= period, so at most one shard per tick
+        int due = (int) ((long) ++keepAliveClock * buckets / period);
+        while (shardCursor < due) {
+            submitShard(shards.get(shardCursor++));
+        }
+
+        if (keepAliveClock == period) {
+            keepAliveClock = 0;
+            shardCursor = 0;
+        }
+    }
+
+    private void submitShard(Set<UUID> shard) {
+        if (subscribers.isEmpty() || shard.isEmpty()) return;
+
+        TickBudgetScheduler budget = plugin.tickBudget();
+        for (UUID id : shard) {
+            budget.submit(() -> keepAlive(id));
+        }
+    }
+
+    /**
+     * Bucket count changed (startup / config reload): rebuild the shards.
+     */
+    private void reshard(int buckets) {
+        List<Set<UUID>> fresh = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) fresh.add(ConcurrentHashMap.newKeySet());
+        for (UUID id : profiles.keySet()) {
+            fresh.get(shardOf(id, buckets)).add(id);
+        }
+        shards = fresh;
+        shardCursor = 0;
+        keepAliveClock = 0;
+    }
+
+    private void keepAlive(UUID id) {
+        // resolved next tick anyway
+        if (dirty.contains(id)) return;
+
+        // profile may have changed / gone while queued
+        EquipmentProfile profile = profiles.get(id);
+        if (profile == null) return;
+
+        Player player = plugin.getServer().getPlayer(id);
+        if (player == null || !player.isOnline()) return;
+
+        plugin.scheduler().runFor(player, () -> {
+            // re-read on the player's thread
+            EquipmentProfile current = profiles.get(id);
+            if (current == null) return;
+            for (Subscriber s : subscribers) {
+                s.onKeepAlive(player, current);
+            }
+        });
+    }
+
+    /* -------------------------
+       Change sources
+       ------------------------- */
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onArmorChange(PlayerArmorChangeEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHeldSlot(PlayerItemHeldEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        markIfPlayer(event.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        markIfPlayer(event.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwapHands(PlayerSwapHandItemsEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent event) {
+        markIfPlayer(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemBreak(PlayerItemBreakEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(PlayerDeathEvent event) {
+        markDirty(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        for (Subscriber s : subscribers) {
+            s.onPlayerJoin(player);
+        }
+        markDirty(player);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        dirty.remove(player.getUniqueId());
+        pending.remove(player.getUniqueId());
+        forget(player.getUniqueId());
+
+        for (Subscriber s : subscribers) {
+            s.onPlayerQuit(player);
+        }
+    }
+
+    private void markIfPlayer(Entity entity) {
+        if (entity instanceof Player player) markDirty(player);
+    }
+
+    private record Decoded(UUID player, int seq, EquipmentProfile profile) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.orangeslices.bossencounters;
+
+import com.orangeslices.bossencounters.scheduler.TaskScheduler;
+import org.bukkit.entity.LivingEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * "Invincible corpse" guard: a boss left at <= 0 health without dying gets finished
+ * on the next tick.
+ *
+ * Hits only enqueue the boss (once per tick, deduplicated via BossState); a single
+ * repeating task drains the queue, instead of one scheduler task per hit. The check
+ * itself runs on the boss's own thread (Folia); hits from any region may enqueue.
+ * BossState.lethalCheckQueued is only read or written under this sweep's monitor.
+ */
+public final class LethalSafetySweep {
+
+    private final BossEncountersPlugin plugin;
+
+    private List<LivingEntity> pending = new ArrayList<>();
+    private List<LivingEntity> draining = new ArrayList<>();
+
+    private TaskScheduler.Task task;
+
+    public LethalSafetySweep(BossEncountersPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        if (task != null) task.cancel();
+        task = plugin.scheduler().runGlobalTimer(this::drain, 1L, 1L);
+    }
+
+    public synchronized void stop() {
+        if (task != null) task.cancel();
+        task = null;
+
+        for (LivingEntity boss : pending) {
+            BossState state = plugin.bossRegistry().get(boss);
+            if (state != null) state.lethalCheckQueued = false;
+        }
+        pending.clear();
+    }
+
+    /**
+     * Queue a check for the next tick. Repeated hits in the same tick are a no-op.
+     */
+    public synchronized void enqueue(LivingEntity boss, BossState state) {
+        if (state.lethalCheckQueued) return;
+        state.lethalCheckQueued = true;
+        pending.add(boss);
+    }
+
+    private void drain() {
+        List<LivingEntity> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) return;
+
+            // swap buffers: checks below can damage bosses, which may enqueue again
+            batch = pending;
+            pending = draining;
+            draining = batch;
+
+            // clear under the lock, before dispatch: a hit landing while the check is
+            // in flight must queue a fresh one, not see a stale flag
+            for (LivingEntity boss : batch) {
+                BossState state = plugin.bossRegistry().get(boss);
+                if (state != null) state.lethalCheckQueued = false;
+            }
+        }
+
+        for (LivingEntity boss : batch) {
+            plugin.scheduler().runFor(boss, () -> check(boss));
+        }
+        batch.clear();
+    }
+
+    private void check(LivingEntity boss) {
+        if (boss.isValid() && !boss.isDead() && boss.getHealth() <= 0.0) {
+            boss.damage(1000.0);
+        }
+    }
+}
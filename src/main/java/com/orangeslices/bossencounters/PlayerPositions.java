@@ -0,0 +1,139 @@
+package com.orangeslices.bossencounters;
+
+import com.orangeslices.bossencounters.scheduler.TaskScheduler;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Player positions for "is anyone near this boss?" checks (spawn FX, local messages,
+ * idle despawn).
+ *
+ * Those checks run on a boss's or the global thread, but a player's location may only be
+ * read on the thread owning that player (Folia). Each player copies its own position into
+ * this snapshot every REFRESH_TICKS on its entity scheduler; readers only see the copies,
+ * so the answer can be up to REFRESH_TICKS old. Anything sent to a matched player is
+ * dispatched back onto that player's thread by the caller.
+ */
+public final class PlayerPositions implements Listener {
+
+    // twice a second is plenty for radius checks of several blocks
+    private static final long REFRESH_TICKS = 10L;
+
+    private final BossEncountersPlugin plugin;
+    private final Map<UUID, Tracked> tracked = new ConcurrentHashMap<>();
+
+    public PlayerPositions(BossEncountersPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        stop();
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            track(player);
+        }
+    }
+
+    public void stop() {
+        for (Tracked t : tracked.values()) {
+            if (t.task != null) t.task.cancel();
+        }
+        tracked.clear();
+    }
+
+    /**
+     * True if a tracked player in {@code at}'s world was within radius at the last refresh.
+     */
+    public boolean anyWithin(Location at, double radius) {
+        World world = at.getWorld();
+        if (world == null) return false;
+
+        UUID worldId = world.getUID();
+        double r2 = radius * radius;
+        for (Tracked t : tracked.values()) {
+            if (t.within(worldId, at, r2)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Every tracked player within radius of {@code at} at the last refresh. The callback
+     * runs on the calling thread; touch the player through TaskScheduler.runFor.
+     */
+    public void forEachWithin(Location at, double radius, Consumer<Player> action) {
+        World world = at.getWorld();
+        if (world == null) return;
+
+        UUID worldId = world.getUID();
+        double r2 = radius * radius;
+        for (Tracked t : tracked.values()) {
+            if (t.within(worldId, at, r2)) action.accept(t.player);
+        }
+    }
+
+    /* -------------------------
+       Tracking
+       ------------------------- */
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        track(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        Tracked t = tracked.remove(event.getPlayer().getUniqueId());
+        if (t != null && t.task != null) t.task.cancel();
+    }
+
+    private void track(Player player) {
+        Tracked t = new Tracked(player);
+        Tracked previous = tracked.put(player.getUniqueId(), t);
+        if (previous != null && previous.task != null) previous.task.cancel();
+
+        TaskScheduler scheduler = plugin.scheduler();
+        scheduler.runFor(player, t::refresh);
+        t.task = scheduler.runForTimer(player, t::refresh, REFRESH_TICKS, REFRESH_TICKS);
+    }
+
+    private static final class Tracked {
+        final Player player;
+        volatile TaskScheduler.Task task;
+
+        // written by the player's thread, read anywhere
+        private volatile Position position;
+
+        Tracked(Player player) {
+            this.player = player;
+        }
+
+        void refresh() {
+            Location loc = player.getLocation();
+            World world = loc.getWorld();
+            position = (world == null) ? null : new Position(world.getUID(), loc.getX(), loc.getY(), loc.getZ());
+        }
+
+        boolean within(UUID worldId, Location at, double r2) {
+            Position p = position;
+            if (p == null || !p.world.equals(worldId)) return false;
+
+            double dx = p.x - at.getX();
+            double dy = p.y - at.getY();
+            double dz = p.z - at.getZ();
+            return dx * dx + dy * dy + dz * dz <= r2;
+        }
+    }
+
+    private record Position(UUID world, double x, double y, double z) {
+    }
+}
@@ -1,117 +1,60 @@
 package com.orangeslices.bossencounters;
 
-import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
-import org.bukkit.event.Listener;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitTask;
 
-public final class PotionAddOnListener implements Listener {
+import java.util.ArrayList;
+import java.util.List;
 
-    private final BossEncountersPlugin plugin;
+/**
+ * Potion add-ons on held items / armor. Levels come from the shared EquipmentProfile
+ * (rebuilt on equipment change) and are handed to PotionArbiter, which applies and
+ * refreshes them.
+ */
+public final class PotionAddOnListener implements EquipmentTracker.Subscriber {
 
-    private final NamespacedKey hasteKey;
-    private final NamespacedKey strengthKey;
+    private static final int DURATION_TICKS = 120;
+    // longer, so it isn't re-sent during its flashing last 10 seconds
+    private static final int NIGHT_VISION_TICKS = 350;
 
-    private final NamespacedKey fireResKey;
-    private final NamespacedKey waterBreathingKey;
-    private final NamespacedKey nightVisionKey;
-    private final NamespacedKey healthBoostKey;
+    /** Shortest add-on duration (bounds the keep-alive period). */
+    static final int SHORTEST_DURATION_TICKS = Math.min(DURATION_TICKS, NIGHT_VISION_TICKS);
 
-    private BukkitTask task;
+    private final BossEncountersPlugin plugin;
 
     public PotionAddOnListener(BossEncountersPlugin plugin) {
         this.plugin = plugin;
-
-        this.hasteKey = new NamespacedKey(plugin, "haste_level");
-        this.strengthKey = new NamespacedKey(plugin, "strength_level");
-
-        this.fireResKey = new NamespacedKey(plugin, "fire_res_level");
-        this.waterBreathingKey = new NamespacedKey(plugin, "water_breathing_level");
-        this.nightVisionKey = new NamespacedKey(plugin, "night_vision_level");
-        this.healthBoostKey = new NamespacedKey(plugin, "health_boost_level");
     }
 
     public void start() {
-        if (task != null) task.cancel();
-
-        task = plugin.getServer().getScheduler().runTaskTimer(
-                plugin,
-                () -> plugin.getServer().getOnlinePlayers().forEach(this::refreshPotionAddOns),
-                20L,
-                40L
-        );
+        stop();
+        plugin.equipmentTracker().subscribe(this);
     }
 
     public void stop() {
-        if (task != null) task.cancel();
-        task = null;
+        plugin.equipmentTracker().unsubscribe(this);
     }
 
-    private void refreshPotionAddOns(Player player) {
-
-        int haste = getHeldLevel(player.getInventory().getItemInMainHand(), hasteKey);
-        int strength = getHeldLevel(player.getInventory().getItemInMainHand(), strengthKey);
-
-        int fireRes = getArmorMaxLevel(player, fireResKey);
-        int healthBoost = getArmorMaxLevel(player, healthBoostKey);
-
-        ItemStack helmet = player.getInventory().getHelmet();
-        int water = getItemLevel(helmet, waterBreathingKey);
-        int night = getItemLevel(helmet, nightVisionKey);
-
-        applyIfBetter(player, PotionEffectType.HASTE, haste, 120);
-        applyIfBetter(player, PotionEffectType.STRENGTH, strength, 120);
-
-        applyIfBetter(player, PotionEffectType.FIRE_RESISTANCE, fireRes, 120);
-        applyIfBetter(player, PotionEffectType.HEALTH_BOOST, healthBoost, 120);
+    @Override
+    public void onEquipmentChanged(Player player, EquipmentProfile profile) {
+        List<PotionArbiter.Desired> wanted = new ArrayList<>();
 
-        applyIfBetter(player, PotionEffectType.WATER_BREATHING, water, 120);
-        applyIfBetter(player, PotionEffectType.NIGHT_VISION, night, 350);
-    }
-
-    private void applyIfBetter(Player player, PotionEffectType type, int level, int duration) {
-        if (type == null || level <= 0) return;
+        if (profile.hasPotionAddOns()) {
+            want(wanted, PotionEffectType.HASTE, profile.haste, DURATION_TICKS);
+            want(wanted, PotionEffectType.STRENGTH, profile.strength, DURATION_TICKS);
 
-        int amplifier = level - 1;
-        PotionEffect current = player.getPotionEffect(type);
+            want(wanted, PotionEffectType.FIRE_RESISTANCE, profile.fireRes, DURATION_TICKS);
+            want(wanted, PotionEffectType.HEALTH_BOOST, profile.healthBoost, DURATION_TICKS);
 
-        if (current != null) {
-            if (current.getAmplifier() > amplifier) return;
-            if (current.getAmplifier() == amplifier && current.getDuration() > duration) return;
+            want(wanted, PotionEffectType.WATER_BREATHING, profile.waterBreathing, DURATION_TICKS);
+            want(wanted, PotionEffectType.NIGHT_VISION, profile.nightVision, NIGHT_VISION_TICKS);
         }
 
-        player.addPotionEffect(
-                new PotionEffect(type, duration, amplifier, true, false, true)
-        );
-    }
-
-    private int getHeldLevel(ItemStack item, NamespacedKey key) {
-        return clamp(getItemLevel(item, key));
+        plugin.potionArbiter().update(player, PotionArbiter.Source.ADD_ON, wanted);
     }
 
-    private int getArmorMaxLevel(Player p, NamespacedKey key) {
-        int max = 0;
-        max = Math.max(max, getItemLevel(p.getInventory().getHelmet(), key));
-        max = Math.max(max, getItemLevel(p.getInventory().getChestplate(), key));
-        max = Math.max(max, getItemLevel(p.getInventory().getLeggings(), key));
-        max = Math.max(max, getItemLevel(p.getInventory().getBoots(), key));
-        return clamp(max);
-    }
-
-    private int getItemLevel(ItemStack item, NamespacedKey key) {
-        if (item == null) return 0;
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) return 0;
-        return meta.getPersistentDataContainer()
-                .getOrDefault(key, PersistentDataType.INTEGER, 0);
-    }
-
-    private int clamp(int lvl) {
-        return Math.max(0, Math.min(2, lvl));
+    private void want(List<PotionArbiter.Desired> into, PotionEffectType type, int level, int duration) {
+        if (type == null || level <= 0) return;
+        into.add(new PotionArbiter.Desired(type, level - 1, duration, true));
     }
 }
@@ -0,0 +1,315 @@
+package com.orangeslices.bossencounters;
+
+import com.orangeslices.bossencounters.raffle.effects.RafflePotionTable;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Single owner of the potion effects the plugin keeps on players.
+ *
+ * Sources (raffle engine, potion add-ons) publish what they want per player; the arbiter
+ * merges them (highest amplifier wins, so sources never fight over the same type),
+ * remembers what it last applied and only calls addPotionEffect when the merged state
+ * changes, the effect went missing, or it is about to run out.
+ *
+ * Rules kept from the old engines:
+ * - never downgrade a stronger effect from another source (beacons, potions, ...)
+ * - never shorten a same-level external effect that outlasts ours
+ *
+ * Types the arbiter applied are tracked per player as an in-memory bitset ("managed").
+ * When no source wants a managed type any more, our effect is removed instead of left
+ * to run out. The set is saved to the player's PDC only on quit / disable and restored
+ * on join, so effects left over from the last session are cleaned up too.
+ *
+ * Each player's state is only touched from that player's thread (Folia regions), so
+ * the per-player map is concurrent and the shared bit assignment is synchronized.
+ */
+public final class PotionArbiter implements EquipmentTracker.Subscriber {
+
+    public enum Source {
+        RAFFLE,
+        ADD_ON
+    }
+
+    /**
+     * One wanted effect. Effects are always ambient with no particles.
+     */
+    public static final class Desired {
+        public final PotionEffectType type;
+        public final int amplifier;
+        public final int durationTicks;
+        public final boolean icon;
+
+        public Desired(PotionEffectType type, int amplifier, int durationTicks, boolean icon) {
+            this.type = type;
+            this.amplifier = amplifier;
+            this.durationTicks = durationTicks;
+            this.icon = icon;
+        }
+    }
+
+    // Re-send once fewer than keep-alive period + this many ticks remain; covers a
+    // keep-alive carried over by the tick budget or a hop to the player's region
+    private static final int REFRESH_SLACK_TICKS = 10;
+
+    // Vanilla night vision flashes during its last 10 seconds
+    private static final int NIGHT_VISION_FLASH_TICKS = 200;
+
+    private final BossEncountersPlugin plugin;
+    private final Map<UUID, PlayerPotions> players = new ConcurrentHashMap<>();
+
+    // Managed types on quit: CSV of effect keys
+    private final NamespacedKey managedKey;
+
+    // Bit index per effect type, assigned on first use (not persisted; the PDC stores keys)
+    private final Map<PotionEffectType, Integer> bitIndex = new ConcurrentHashMap<>();
+    private final List<PotionEffectType> byBit = new CopyOnWriteArrayList<>();
+
+    /**
+     * Longest keep-alive period that still re-sends every managed effect before it runs
+     * out: shortest raffle / add-on duration minus the refresh slack.
+     */
+    public static int maxKeepAliveTicks() {
+        int shortest = Math.min(RafflePotionTable.shortestDurationTicks(), PotionAddOnListener.SHORTEST_DURATION_TICKS);
+        return shortest - REFRESH_SLACK_TICKS;
+    }
+
+    public PotionArbiter(BossEncountersPlugin plugin) {
+        this.plugin = plugin;
+        this.managedKey = new NamespacedKey(plugin, "raffle_potion_managed");
+    }
+
+    public void start() {
+        stop();
+        plugin.equipmentTracker().subscribe(this);
+
+        // plugin reload: pick up what the previous instance saved
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            restore(player);
+        }
+    }
+
+    public void stop() {
+        plugin.equipmentTracker().unsubscribe(this);
+
+        for (Map.Entry<UUID, PlayerPotions> e : players.entrySet()) {
+            Player player = plugin.getServer().getPlayer(e.getKey());
+            if (player != null) persist(player, e.getValue());
+        }
+        players.clear();
+    }
+
+    /**
+     * Replace what one source wants for this player and apply the difference now.
+     */
+    public void update(Player player, Source source, List<Desired> wanted) {
+        UUID id = player.getUniqueId();
+        PlayerPotions state = players.get(id);
+
+        if (wanted.isEmpty()) {
+            if (state == null) return;
+            state.bySource.remove(source);
+        } else {
+            if (state == null) players.put(id, state = new PlayerPotions());
+            state.bySource.put(source, wanted);
+        }
+
+        sync(player, state);
+        if (state.bySource.isEmpty() && state.managed == 0L && !state.persisted) players.remove(id);
+    }
+
+    /* -------------------------
+       EquipmentTracker
+       ------------------------- */
+
+    @Override
+    public void onEquipmentChanged(Player player, EquipmentProfile profile) {
+        // sources push their own updates
+    }
+
+    @Override
+    public void onKeepAlive(Player player, EquipmentProfile profile) {
+        PlayerPotions state = players.get(player.getUniqueId());
+        if (state != null) sync(player, state);
+    }
+
+    @Override
+    public void onPlayerJoin(Player player) {
+        restore(player);
+    }
+
+    @Override
+    public void onPlayerQuit(Player player) {
+        PlayerPotions state = players.remove(player.getUniqueId());
+        if (state != null) persist(player, state);
+    }
+
+    /* -------------------------
+       Diff + apply
+       ------------------------- */
+
+    private void sync(Player player, PlayerPotions state) {
+        Map<PotionEffectType, Desired> merged = merge(state);
+        int now = Bukkit.getCurrentTick();
+        int margin = plugin.settings().performance.keepAliveTicks + REFRESH_SLACK_TICKS;
+
+        // no longer wanted: take our effect off
+        for (long m = state.managed; m != 0L; m &= m - 1) {
+            PotionEffectType type = byBit.get(Long.numberOfTrailingZeros(m));
+            if (!merged.containsKey(type)) release(player, state, type);
+        }
+
+        for (Desired d : merged.values()) {
+            Applied last = state.applied.get(d.type);
+            PotionEffect current = player.getPotionEffect(d.type);
+
+            // Never downgrade stronger effects from other sources
+            if (current != null && current.getAmplifier() > d.amplifier) {
+                forget(state, d.type);
+                continue;
+            }
+
+            boolean ours = last != null
+                    && last.amplifier == d.amplifier
+                    && last.icon == d.icon
+                    && current != null
+                    && current.getAmplifier() == d.amplifier;
+
+            if (ours && last.expiryTick - now > refreshThreshold(d, margin)) continue;
+
+            if (current != null && current.getAmplifier() == d.amplifier
+                    && current.getDuration() > d.durationTicks) {
+                // same level from elsewhere and it outlasts ours
+                forget(state, d.type);
+                continue;
+            }
+
+            player.addPotionEffect(new PotionEffect(d.type, d.durationTicks, d.amplifier, true, false, d.icon));
+            state.applied.put(d.type, new Applied(d.amplifier, d.icon, now + d.durationTicks));
+            state.managed |= bit(d.type);
+        }
+    }
+
+    /**
+     * Remove our effect (if it is still ours) and stop managing the type.
+     */
+    private void release(Player player, PlayerPotions state, PotionEffectType type) {
+        PotionEffect current = player.getPotionEffect(type);
+        if (current != null && isOurs(current, state.applied.get(type))) {
+            player.removePotionEffect(type);
+        }
+        forget(state, type);
+    }
+
+    private void forget(PlayerPotions state, PotionEffectType type) {
+        state.applied.remove(type);
+        state.managed &= ~bit(type);
+    }
+
+    /**
+     * Ours = our signature (ambient, no particles) and, if we know it, our amplifier.
+     * Beacon effects are ambient but show particles, so they never match.
+     */
+    private static boolean isOurs(PotionEffect current, Applied last) {
+        if (!current.isAmbient() || current.hasParticles()) return false;
+        return last == null || current.getAmplifier() == last.amplifier;
+    }
+
+    private long bit(PotionEffectType type) {
+        Integer i = bitIndex.get(type);
+        if (i == null) i = assignBit(type);
+        return i < 0 ? 0L : 1L << i;
+    }
+
+    private synchronized int assignBit(PotionEffectType type) {
+        Integer i = bitIndex.get(type);
+        if (i != null) return i;
+        if (byBit.size() >= Long.SIZE) return -1; // more types than bits: untracked
+
+        i = byBit.size();
+        byBit.add(type);
+        bitIndex.put(type, i);
+        return i;
+    }
+
+    /* -------------------------
+       Persistence (join / quit only)
+       ------------------------- */
+
+    private void restore(Player player) {
+        String csv = player.getPersistentDataContainer().get(managedKey, PersistentDataType.STRING);
+        if (csv == null) return;
+
+        long managed = 0L;
+        for (String part : csv.split(",")) {
+            NamespacedKey key = NamespacedKey.fromString(part.trim());
+            PotionEffectType type = key == null ? null : Registry.EFFECT.get(key);
+            if (type != null) managed |= bit(type);
+        }
+
+        PlayerPotions state = players.computeIfAbsent(player.getUniqueId(), k -> new PlayerPotions());
+        state.managed |= managed;
+        state.persisted = true;
+    }
+
+    private void persist(Player player, PlayerPotions state) {
+        PersistentDataContainer pdc = player.getPersistentDataContainer();
+        if (state.managed == 0L) {
+            if (state.persisted) pdc.remove(managedKey);
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (long m = state.managed; m != 0L; m &= m - 1) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(byBit.get(Long.numberOfTrailingZeros(m)).getKey());
+        }
+        pdc.set(managedKey, PersistentDataType.STRING, sb.toString());
+    }
+
+    private static Map<PotionEffectType, Desired> merge(PlayerPotions state) {
+        Map<PotionEffectType, Desired> merged = new HashMap<>();
+        for (List<Desired> list : state.bySource.values()) {
+            for (Desired d : list) {
+                merged.merge(d.type, d, PotionArbiter::stronger);
+            }
+        }
+        return merged;
+    }
+
+    private static Desired stronger(Desired a, Desired b) {
+        if (a.amplifier != b.amplifier) return a.amplifier > b.amplifier ? a : b;
+        if (a.durationTicks != b.durationTicks) return a.durationTicks > b.durationTicks ? a : b;
+        // tie: prefer the hidden (icon-less) variant
+        return a.icon ? b : a;
+    }
+
+    private static int refreshThreshold(Desired d, int margin) {
+        if (d.type == PotionEffectType.NIGHT_VISION) return NIGHT_VISION_FLASH_TICKS + margin;
+        return margin;
+    }
+
+    private static final class PlayerPotions {
+        final Map<Source, List<Desired>> bySource = new EnumMap<>(Source.class);
+        final Map<PotionEffectType, Applied> applied = new HashMap<>();
+        long managed;       // bits per bitIndex
+        boolean persisted;  // managedKey present in the player's PDC
+    }
+
+    private record Applied(int amplifier, boolean icon, int expiryTick) {
+    }
+}
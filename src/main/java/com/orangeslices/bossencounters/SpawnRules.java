@@ -0,0 +1,127 @@
+package com.orangeslices.bossencounters;
+
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.block.Block;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compiled "can this spawn become a boss?" rules (spawn.* + mobs.whitelist).
+ *
+ * Built once per settings load. Checks run cheapest first and the chance roll happens
+ * before anything that touches the world (Y, biome, light):
+ * type -> reason -> world -> roll -> y -> biome -> light.
+ */
+public final class SpawnRules {
+
+    // empty set = any
+    private final Set<EntityType> types;
+    private final Set<SpawnReason> reasons;
+    private final Set<NamespacedKey> biomes;
+
+    private final int oneIn;
+    private final int minY;
+    private final int maxY;
+    private final int maxLight; // 15 = no light filter
+
+    // per-world overrides by world name
+    private final Map<String, WorldRule> worlds;
+
+    private SpawnRules(ConfigurationSection cfg) {
+        this.types = parseEnums(EntityType.class, cfg.getStringList("mobs.whitelist"));
+        this.reasons = parseEnums(SpawnReason.class, cfg.getStringList("spawn.reasons"));
+        this.biomes = parseBiomes(cfg.getStringList("spawn.biomes"));
+
+        this.oneIn = Math.max(1, cfg.getInt("spawn.one_in", 250));
+        this.minY = cfg.getInt("spawn.min_y", Integer.MIN_VALUE);
+        this.maxY = cfg.getInt("spawn.max_y", Integer.MAX_VALUE);
+        this.maxLight = Math.max(0, Math.min(15, cfg.getInt("spawn.max_light", 15)));
+
+        Map<String, WorldRule> map = new HashMap<>();
+        ConfigurationSection sec = cfg.getConfigurationSection("spawn.worlds");
+        if (sec != null) {
+            for (String world : sec.getKeys(false)) {
+                ConfigurationSection w = sec.getConfigurationSection(world);
+                if (w == null) continue;
+                map.put(world, new WorldRule(
+                        w.getBoolean("enabled", true),
+                        Math.max(1, w.getInt("one_in", oneIn))
+                ));
+            }
+        }
+        this.worlds = Collections.unmodifiableMap(map);
+    }
+
+    public static SpawnRules compile(ConfigurationSection cfg) {
+        return new SpawnRules(cfg);
+    }
+
+    /**
+     * Full check, including the 1-in-N roll.
+     */
+    public boolean test(LivingEntity mob, SpawnReason reason) {
+        if (!types.isEmpty() && !types.contains(mob.getType())) return false;
+        if (!reasons.isEmpty() && !reasons.contains(reason)) return false;
+
+        int chance = oneIn;
+        if (!worlds.isEmpty()) {
+            WorldRule rule = worlds.get(mob.getWorld().getName());
+            if (rule != null) {
+                if (!rule.enabled) return false;
+                chance = rule.oneIn;
+            }
+        }
+
+        // Chance: 1 in N
+        if (chance > 1 && ThreadLocalRandom.current().nextInt(chance) != 0) return false;
+
+        return testLocation(mob.getLocation());
+    }
+
+    private boolean testLocation(Location loc) {
+        int y = loc.getBlockY();
+        if (y < minY || y > maxY) return false;
+
+        if (biomes.isEmpty() && maxLight >= 15) return true;
+
+        Block block = loc.getBlock();
+        if (!biomes.isEmpty() && !biomes.contains(block.getBiome().getKey())) return false;
+        return maxLight >= 15 || block.getLightLevel() <= maxLight;
+    }
+
+    /* -------------------------
+       Parsing
+       ------------------------- */
+
+    private static <E extends Enum<E>> Set<E> parseEnums(Class<E> type, List<String> names) {
+        EnumSet<E> set = EnumSet.noneOf(type);
+        for (String s : names) {
+            if (s == null || s.isBlank()) continue;
+            try {
+                set.add(Enum.valueOf(type, s.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException ignored) {
+                // unknown name -> skip
+            }
+        }
+        return Collections.unmodifiableSet(set);
+    }
+
+    private static Set<NamespacedKey> parseBiomes(List<String> ids) {
+        Set<NamespacedKey> set = new HashSet<>();
+        for (String s : ids) {
+            if (s == null || s.isBlank()) continue;
+            NamespacedKey key = NamespacedKey.fromString(s.trim().toLowerCase(Locale.ROOT));
+            if (key != null) set.add(key);
+        }
+        return Collections.unmodifiableSet(set);
+    }
+
+    private record WorldRule(boolean enabled, int oneIn) {
+    }
+}
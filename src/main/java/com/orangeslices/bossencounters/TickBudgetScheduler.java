@@ -0,0 +1,96 @@
+package com.orangeslices.bossencounters;
+
+import com.orangeslices.bossencounters.scheduler.TaskScheduler;
+
+import java.util.ArrayDeque;
+import java.util.logging.Level;
+
+/**
+ * Deferred periodic work under a per-tick time budget (performance.tick_budget_ms).
+ *
+ * Periodic passes (keep-alive potion refresh, due despawn checks) submit one small unit
+ * per player / boss instead of doing all of it in the tick they fire. A 1-tick task runs
+ * queued units FIFO until the budget is used up and carries the rest over, so a burst
+ * is spread across ticks instead of showing up as an MSPT spike. At least one unit runs
+ * per tick, so the queue always makes progress.
+ *
+ * Counters (for /bec stats): units run, ticks that ended with work left over (overruns),
+ * and the largest backlog seen.
+ *
+ * Runs on the global thread (Folia: global region); units that touch an entity dispatch
+ * themselves via TaskScheduler.runFor.
+ */
+public final class TickBudgetScheduler {
+
+    private final BossEncountersPlugin plugin;
+    private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+
+    private long executed;
+    private long overrunTicks;
+    private int maxBacklog;
+
+    private TaskScheduler.Task task;
+
+    public TickBudgetScheduler(BossEncountersPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        if (task != null) task.cancel();
+        task = plugin.scheduler().runGlobalTimer(this::run, 1L, 1L);
+    }
+
+    /**
+     * Stops ticking and drops pending work (owners re-submit on their next pass).
+     */
+    public void stop() {
+        if (task != null) task.cancel();
+        task = null;
+        queue.clear();
+    }
+
+    /**
+     * Queue a unit for the next tick with budget left. Global thread only.
+     */
+    public void submit(Runnable unit) {
+        queue.add(unit);
+        if (queue.size() > maxBacklog) maxBacklog = queue.size();
+    }
+
+    public int backlog() {
+        return queue.size();
+    }
+
+    public long executed() {
+        return executed;
+    }
+
+    public long overrunTicks() {
+        return overrunTicks;
+    }
+
+    public int maxBacklog() {
+        return maxBacklog;
+    }
+
+    private void run() {
+        if (queue.isEmpty()) return;
+
+        long deadline = System.nanoTime() + plugin.settings().performance.tickBudgetNanos;
+
+        Runnable unit;
+        do {
+            unit = queue.poll();
+            if (unit == null) return;
+
+            try {
+                unit.run();
+            } catch (Throwable ex) {
+                plugin.getLogger().log(Level.WARNING, "Deferred task failed", ex);
+            }
+            executed++;
+        } while (System.nanoTime() < deadline);
+
+        if (!queue.isEmpty()) overrunTicks++;
+    }
+}
@@ -0,0 +1,265 @@
+package com.orangeslices.bossencounters;
+
+import com.orangeslices.bossencounters.scheduler.TaskScheduler;
+import org.bukkit.entity.Entity;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Plugin-wide delayed / repeating callbacks, driven by one 1-tick global task.
+ *
+ * Hierarchical timing wheel: level 0 has one slot per tick for the next 256 ticks, each
+ * higher level covers 64 slots of the level below. A timer sits in the slot of its
+ * deadline and is moved down a level when that slot comes round (cascade), so schedule
+ * and cancel are O(1) and a tick only touches one slot.
+ *
+ * Deadlines beyond the top level (~38 days) are parked in its furthest slot and
+ * re-placed when it cascades.
+ *
+ * Every timer names the entity it acts on. Threading:
+ * - Paper: the wheel and its lists belong to the main thread; schedule, cancel and the
+ *   callbacks all run there.
+ * - Folia: there is no single tick thread to run the wheel on, so timers are handed to
+ *   that entity's scheduler instead and callbacks run on its region. The Timer handle
+ *   may be cancelled from any thread; cancel is idempotent and isCancelled is visible
+ *   everywhere.
+ */
+public final class TimingWheel {
+
+    /**
+     * Cancellable handle for a scheduled callback.
+     */
+    public static final class Timer {
+
+        private Timer prev, next;
+        private final TimingWheel owner;
+        private final Runnable task;
+        private final long period;  // 0 = one-shot
+        private long deadline;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private volatile TaskScheduler.Task delegate; // Folia: entity-scheduler task, not in the wheel
+
+        private Timer(TimingWheel owner, Runnable task, long period) {
+            this.owner = owner;
+            this.task = task;
+            this.period = period;
+        }
+
+        /** Safe to call more than once, from inside the callback itself, and (Folia) from any thread. */
+        public void cancel() {
+            if (!cancelled.compareAndSet(false, true)) return;
+            TaskScheduler.Task d = delegate;
+            if (d != null) {
+                d.cancel();
+            } else if (prev != null) {
+                unlink();
+                owner.size--;
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+
+        private void unlink() {
+            if (prev == null) return;
+            prev.next = next;
+            next.prev = prev;
+            prev = next = null;
+        }
+    }
+
+    private static final int LEVEL0_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVELS = 4;
+
+    private final TaskScheduler scheduler;
+    private final Logger logger;
+
+    // wheels[level][slot] -> sentinel of a circular list
+    private final Timer[][] wheels = new Timer[LEVELS][];
+    private final Timer due = sentinel();
+
+    private long now;
+    private int size;
+    private TaskScheduler.Task task;
+
+    public TimingWheel(BossEncountersPlugin plugin) {
+        this(plugin.scheduler(), plugin.getLogger());
+    }
+
+    // also used by tests, which tick the wheel through their own scheduler
+    TimingWheel(TaskScheduler scheduler, Logger logger) {
+        this.scheduler = scheduler;
+        this.logger = logger;
+        for (int level = 0; level < LEVELS; level++) {
+            Timer[] slots = new Timer[1 << bits(level)];
+            for (int i = 0; i < slots.length; i++) slots[i] = sentinel();
+            wheels[level] = slots;
+        }
+    }
+
+    public void start() {
+        if (task != null) task.cancel();
+        if (!scheduler.regionised()) {
+            task = scheduler.runGlobalTimer(this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Stops ticking and cancels everything still scheduled.
+     */
+    public void stop() {
+        if (task != null) task.cancel();
+        task = null;
+
+        for (Timer[] slots : wheels) {
+            for (Timer head : slots) {
+                while (head.next != head) head.next.cancel();
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * Run once after delayTicks (at least 1), on the thread owning {@code entity}.
+     */
+    public Timer schedule(Entity entity, long delayTicks, Runnable callback) {
+        Timer t = new Timer(this, callback, 0L);
+        long delay = Math.max(1L, delayTicks);
+        if (scheduler.regionised()) {
+            t.delegate = scheduler.runForLater(entity, callback, delay);
+            return t;
+        }
+
+        t.deadline = now + delay;
+        place(t);
+        size++;
+        return t;
+    }
+
+    /**
+     * Run after delayTicks (at least 1), then every periodTicks until cancelled, on the
+     * thread owning {@code entity}.
+     */
+    public Timer scheduleRepeating(Entity entity, long delayTicks, long periodTicks, Runnable callback) {
+        Timer t = new Timer(this, callback, Math.max(1L, periodTicks));
+        long delay = Math.max(1L, delayTicks);
+        if (scheduler.regionised()) {
+            t.delegate = scheduler.runForTimer(entity, callback, delay, t.period);
+            return t;
+        }
+
+        t.deadline = now + delay;
+        place(t);
+        size++;
+        return t;
+    }
+
+    /** Timers in the wheel not yet run or cancelled (0 on Folia). */
+    public int size() {
+        return size;
+    }
+
+    /* -------------------------
+       Wheel
+       ------------------------- */
+
+    private void tick() {
+        now++;
+
+        // bring the next block of timers down before running level 0
+        for (int level = 1; level < LEVELS; level++) {
+            if ((now & ((1L << shift(level)) - 1)) != 0) break;
+            cascade(level);
+        }
+
+        Timer head = wheels[0][(int) (now & mask(0))];
+        if (head.next == head) return;
+
+        moveAll(head, due);
+        while (due.next != due) {
+            Timer t = due.next;
+            t.unlink();
+            if (t.cancelled.get()) continue;
+
+            if (t.period > 0) {
+                t.deadline = now + t.period;
+                place(t);
+            } else {
+                size--;
+            }
+
+            try {
+                t.task.run();
+            } catch (Throwable ex) {
+                logger.log(Level.WARNING, "Timer callback failed", ex);
+            }
+        }
+    }
+
+    private void cascade(int level) {
+        Timer head = wheels[level][(int) ((now >>> shift(level)) & mask(level))];
+        if (head.next == head) return;
+
+        Timer moving = sentinel();
+        moveAll(head, moving);
+        while (moving.next != moving) {
+            Timer t = moving.next;
+            t.unlink();
+            place(t);
+        }
+    }
+
+    private void place(Timer t) {
+        long delta = t.deadline - now;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << shift(level + 1))) level++;
+
+        long slot = t.deadline >>> shift(level);
+        if (level == LEVELS - 1) {
+            // past the horizon: park in the furthest slot, re-placed when it cascades
+            long furthest = (now >>> shift(level)) + mask(level);
+            if (slot > furthest) slot = furthest;
+        }
+        append(wheels[level][(int) (slot & mask(level))], t);
+    }
+
+    private static void append(Timer head, Timer t) {
+        t.prev = head.prev;
+        t.next = head;
+        head.prev.next = t;
+        head.prev = t;
+    }
+
+    private static void moveAll(Timer from, Timer to) {
+        if (from.next == from) return;
+        Timer first = from.next, last = from.prev;
+        first.prev = to.prev;
+        to.prev.next = first;
+        last.next = to;
+        to.prev = last;
+        from.next = from.prev = from;
+    }
+
+    private static Timer sentinel() {
+        Timer s = new Timer(null, null, 0L);
+        s.prev = s.next = s;
+        return s;
+    }
+
+    private static int bits(int level) {
+        return level == 0 ? LEVEL0_BITS : LEVEL_BITS;
+    }
+
+    private static int shift(int level) {
+        return level == 0 ? 0 : LEVEL0_BITS + (level - 1) * LEVEL_BITS;
+    }
+
+    private static long mask(int level) {
+        return (1L << bits(level)) - 1;
+    }
+}
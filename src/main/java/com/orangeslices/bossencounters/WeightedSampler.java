@@ -0,0 +1,209 @@
+package com.orangeslices.bossencounters;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Immutable weighted sampler (Vose's alias method).
+ *
+ * Built once (at config load / class init); each draw is O(1): one uniform index plus
+ * one biased coin. Entries with weight <= 0 are dropped.
+ */
+public final class WeightedSampler<T> {
+
+    private static final WeightedSampler<?> EMPTY = new WeightedSampler<>(List.of(), new double[0]);
+
+    private final Object[] items;
+    private final double[] weights;
+    private final double[] prob;
+    private final int[] alias;
+
+    private WeightedSampler(List<T> items, double[] weights) {
+        int n = items.size();
+        this.items = items.toArray();
+        this.weights = weights;
+        this.prob = new double[n];
+        this.alias = new int[n];
+        if (n > 0) buildAlias();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> WeightedSampler<T> empty() {
+        return (WeightedSampler<T>) EMPTY;
+    }
+
+    /**
+     * Sampler over map entries (iteration order is kept for ties/fallbacks).
+     */
+    public static <T> WeightedSampler<T> of(Map<T, ? extends Number> weighted) {
+        Builder<T> b = builder();
+        for (Map.Entry<T, ? extends Number> e : weighted.entrySet()) {
+            b.add(e.getKey(), e.getValue().doubleValue());
+        }
+        return b.build();
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    public boolean isEmpty() {
+        return items.length == 0;
+    }
+
+    /* -------------------------
+       Draws
+       ------------------------- */
+
+    /**
+     * One weighted draw, or null if empty.
+     */
+    public T sample() {
+        return sample(ThreadLocalRandom.current());
+    }
+
+    @SuppressWarnings("unchecked")
+    public T sample(RandomGenerator random) {
+        int n = items.length;
+        if (n == 0) return null;
+
+        int i = random.nextInt(n);
+        return (T) items[random.nextDouble() < prob[i] ? i : alias[i]];
+    }
+
+    /**
+     * Up to {@code k} distinct items, drawn without replacement (successive weighted picks,
+     * each over the items not yet chosen).
+     *
+     * Uses alias draws with rejection of repeats, which is exact for that distribution; if
+     * the remaining items carry little weight and rejections pile up, it finishes with
+     * linear draws over the remainder.
+     */
+    public List<T> sampleDistinct(int k) {
+        return sampleDistinct(k, ThreadLocalRandom.current());
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<T> sampleDistinct(int k, RandomGenerator random) {
+        int n = items.length;
+        k = Math.min(k, n);
+        if (k <= 0) return List.of();
+
+        boolean[] taken = new boolean[n];
+        List<T> out = new ArrayList<>(k);
+        double remaining = 0.0;
+        for (double w : weights) remaining += w;
+
+        int attempts = 0;
+        int maxAttempts = 8 * k;
+        while (out.size() < k && attempts++ < maxAttempts) {
+            int i = random.nextInt(n);
+            int pick = random.nextDouble() < prob[i] ? i : alias[i];
+            if (taken[pick]) continue;
+
+            taken[pick] = true;
+            remaining -= weights[pick];
+            out.add((T) items[pick]);
+        }
+
+        // Fallback: exact linear draws over what's left
+        while (out.size() < k && remaining > 0.0) {
+            double roll = random.nextDouble() * remaining;
+            int pick = -1;
+            for (int i = 0; i < n; i++) {
+                if (taken[i]) continue;
+                pick = i;
+                roll -= weights[i];
+                if (roll < 0.0) break;
+            }
+            if (pick < 0) break;
+
+            taken[pick] = true;
+            remaining -= weights[pick];
+            out.add((T) items[pick]);
+        }
+        return Collections.unmodifiableList(out);
+    }
+
+    /* -------------------------
+       Alias table
+       ------------------------- */
+
+    private void buildAlias() {
+        int n = items.length;
+        double total = 0.0;
+        for (double w : weights) total += w;
+
+        double[] scaled = new double[n];
+        ArrayDeque<Integer> small = new ArrayDeque<>();
+        ArrayDeque<Integer> large = new ArrayDeque<>();
+
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) small.add(i);
+            else large.add(i);
+        }
+
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int s = small.poll();
+            int l = large.poll();
+
+            prob[s] = scaled[s];
+            alias[s] = l;
+
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+            if (scaled[l] < 1.0) small.add(l);
+            else large.add(l);
+        }
+
+        // leftovers are 1.0 up to rounding
+        while (!large.isEmpty()) {
+            int l = large.poll();
+            prob[l] = 1.0;
+            alias[l] = l;
+        }
+        while (!small.isEmpty()) {
+            int s = small.poll();
+            prob[s] = 1.0;
+            alias[s] = s;
+        }
+    }
+
+    /* -------------------------
+       Builder
+       ------------------------- */
+
+    public static final class Builder<T> {
+
+        private final List<T> items = new ArrayList<>();
+        private final List<Double> weights = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder<T> add(T item, double weight) {
+            if (item == null) return this;
+            if (!(weight > 0.0) || Double.isInfinite(weight)) return this;
+            items.add(item);
+            weights.add(weight);
+            return this;
+        }
+
+        public WeightedSampler<T> build() {
+            if (items.isEmpty()) return empty();
+
+            double[] w = new double[weights.size()];
+            for (int i = 0; i < w.length; i++) w[i] = weights.get(i);
+            return new WeightedSampler<>(List.copyOf(items), w);
+        }
+    }
+}
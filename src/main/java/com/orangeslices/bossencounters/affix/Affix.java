@@ -0,0 +1,106 @@
+package com.orangeslices.bossencounters.affix;
+
+import java.util.*;
+
+/**
+ * Boss affixes known to the combat code.
+ *
+ * Bosses carry their affixes as a long bitmask (one bit per ordinal), parsed once when the
+ * boss is registered, so a per-hit check is a single AND. The PDC keeps the
+ * comma-separated id list (config ids, lowercase) for persistence and title building.
+ */
+public enum Affix {
+
+    LIFESTEAL("lifesteal"),
+    KNOCKBACK("knockback"),
+    BLEED("bleed"),
+    PULL("pull"),
+    MARK("mark"),
+    THORNS("thorns"),
+    SHOCKWAVE("shockwave"),
+    INTIMIDATE("intimidate");
+
+    private static final Affix[] VALUES = values();
+    private static final Map<String, Affix> BY_ID = new HashMap<>();
+
+    static {
+        for (Affix a : VALUES) BY_ID.put(a.id, a);
+    }
+
+    private final String id;
+    private final long bit;
+
+    Affix(String id) {
+        this.id = id;
+        this.bit = 1L << ordinal();
+    }
+
+    /**
+     * Config id (e.g. "lifesteal").
+     */
+    public String id() {
+        return id;
+    }
+
+    public long bit() {
+        return bit;
+    }
+
+    public boolean in(long mask) {
+        return (mask & bit) != 0L;
+    }
+
+    /* -------------------------
+       Parsing
+       ------------------------- */
+
+    /**
+     * Case-insensitive lookup by config id, or null if unknown.
+     */
+    public static Affix fromId(String id) {
+        if (id == null) return null;
+        String key = id.trim().toLowerCase(Locale.ROOT);
+        if (key.isEmpty()) return null;
+        return BY_ID.get(key);
+    }
+
+    /**
+     * Parses a CSV id list, keeping first-seen order and dropping duplicates.
+     * Unknown ids are skipped and, if {@code unknownOut} is non-null, collected there.
+     */
+    public static List<Affix> parseList(String csv, Collection<String> unknownOut) {
+        if (csv == null || csv.isBlank()) return List.of();
+
+        List<Affix> out = new ArrayList<>();
+        long seen = 0L;
+        for (String part : csv.split(",")) {
+            String raw = part.trim();
+            if (raw.isEmpty()) continue;
+
+            Affix a = fromId(raw);
+            if (a == null) {
+                if (unknownOut != null) unknownOut.add(raw);
+                continue;
+            }
+            if (a.in(seen)) continue;
+            seen |= a.bit;
+            out.add(a);
+        }
+        return out;
+    }
+
+    /**
+     * Bitmask for a CSV id list (unknown ids are ignored).
+     */
+    public static long parseMask(String csv) {
+        long mask = 0L;
+        for (Affix a : parseList(csv, null)) mask |= a.bit;
+        return mask;
+    }
+
+    public static String toCsv(List<Affix> affixes) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (Affix a : affixes) joiner.add(a.id);
+        return joiner.toString();
+    }
+}
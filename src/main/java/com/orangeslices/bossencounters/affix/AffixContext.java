@@ -0,0 +1,62 @@
+package com.orangeslices.bossencounters.affix;
+
+import com.orangeslices.bossencounters.BossEncountersSettings;
+import com.orangeslices.bossencounters.BossState;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.LivingEntity;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-event inputs shared by every handler the boss runs for that event.
+ */
+public final class AffixContext {
+
+    public final LivingEntity boss;
+    public final BossState state;
+    public final BossEncountersSettings.Affixes cfg;
+
+    /** affixes.rank_scaling.&lt;RANK&gt; for this boss (1.0 default). */
+    public final double scale;
+
+    /** Server tick the event fired on (cooldown clock). */
+    public final long tick;
+
+    public AffixContext(LivingEntity boss, BossState state, BossEncountersSettings.Affixes cfg) {
+        this.boss = boss;
+        this.state = state;
+        this.cfg = cfg;
+        this.scale = cfg.rankScale(state.rank);
+        this.tick = Bukkit.getCurrentTick();
+    }
+
+    /**
+     * Chance roll + cooldown check; starts the cooldown when it passes.
+     */
+    public boolean shouldProc(Affix affix, double chance, long cooldownTicks) {
+        if (chance < 1.0 && ThreadLocalRandom.current().nextDouble() > chance) return false;
+        if (!state.cooldownReady(affix, tick)) return false;
+        state.startCooldown(affix, tick, cooldownTicks);
+        return true;
+    }
+
+    public boolean cooldownOk(Affix affix) {
+        return state.cooldownReady(affix, tick);
+    }
+
+    public void startCooldown(Affix affix, long cooldownTicks) {
+        state.startCooldown(affix, tick, cooldownTicks);
+    }
+
+    /* -------------------------
+       Utility
+       ------------------------- */
+
+    public static boolean isAlive(LivingEntity e) {
+        return e != null && e.isValid() && !e.isDead() && e.getHealth() > 0.0;
+    }
+
+    public static double clamp(double v, double min, double max) {
+        return Math.max(min, Math.min(max, v));
+    }
+}
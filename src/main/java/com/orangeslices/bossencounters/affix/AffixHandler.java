@@ -0,0 +1,34 @@
+package com.orangeslices.bossencounters.affix;
+
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityTargetLivingEntityEvent;
+
+import java.util.Set;
+
+/**
+ * Behaviour of one affix.
+ *
+ * Handlers are stateless singletons (see AffixHandlers). Each boss carries precomputed
+ * handler arrays per trigger, so an event only visits the handlers that boss actually has.
+ * Only the callbacks for the declared triggers are ever invoked.
+ */
+public interface AffixHandler {
+
+    Affix affix();
+
+    Set<AffixTrigger> triggers();
+
+    default void onAttack(AffixContext ctx, EntityDamageByEntityEvent event, LivingEntity target) {
+    }
+
+    default void onHurt(AffixContext ctx, EntityDamageByEntityEvent event) {
+    }
+
+    default void onAnyDamage(AffixContext ctx, EntityDamageEvent event) {
+    }
+
+    default void onTarget(AffixContext ctx, EntityTargetLivingEntityEvent event, LivingEntity target) {
+    }
+}
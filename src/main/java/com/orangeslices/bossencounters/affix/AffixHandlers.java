@@ -0,0 +1,59 @@
+package com.orangeslices.bossencounters.affix;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One handler per Affix, plus the per-boss trigger index.
+ *
+ * resolve(mask) turns a boss's affix mask into handler arrays indexed by
+ * AffixTrigger ordinal (in Affix declaration order), computed once when the boss is
+ * registered. New affixes only need a handler registered here.
+ */
+public final class AffixHandlers {
+
+    private static final AffixHandler[] NONE = new AffixHandler[0];
+    private static final int TRIGGERS = AffixTrigger.values().length;
+
+    private final Map<Affix, AffixHandler> handlers = new EnumMap<>(Affix.class);
+
+    public AffixHandlers(Plugin plugin) {
+        register(new LifestealHandler());
+        register(new KnockbackHandler());
+        register(new BleedHandler());
+        register(new PullHandler());
+        register(new MarkHandler(new NamespacedKey(plugin, "mark_until")));
+        register(new ThornsHandler());
+        register(new ShockwaveHandler());
+        register(new IntimidateHandler());
+    }
+
+    private void register(AffixHandler handler) {
+        handlers.put(handler.affix(), handler);
+    }
+
+    /**
+     * Handler arrays for a boss, indexed by AffixTrigger ordinal. Never null; empty slots
+     * share one zero-length array.
+     */
+    public AffixHandler[][] resolve(long affixMask) {
+        AffixHandler[][] out = new AffixHandler[TRIGGERS][];
+
+        for (AffixTrigger trigger : AffixTrigger.values()) {
+            List<AffixHandler> list = new ArrayList<>(2);
+            if (affixMask != 0L) {
+                for (Map.Entry<Affix, AffixHandler> e : handlers.entrySet()) {
+                    if (!e.getKey().in(affixMask)) continue;
+                    if (e.getValue().triggers().contains(trigger)) list.add(e.getValue());
+                }
+            }
+            out[trigger.ordinal()] = list.isEmpty() ? NONE : list.toArray(NONE);
+        }
+        return out;
+    }
+}
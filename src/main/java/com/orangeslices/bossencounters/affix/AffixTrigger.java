@@ -0,0 +1,19 @@
+package com.orangeslices.bossencounters.affix;
+
+/**
+ * Boss events an AffixHandler can react to.
+ */
+public enum AffixTrigger {
+
+    /** Boss damages a living entity (EntityDamageByEntityEvent, boss = damager). */
+    ON_ATTACK,
+
+    /** Boss is damaged by an entity (EntityDamageByEntityEvent, boss = victim). */
+    ON_HURT,
+
+    /** Boss takes damage from any source (EntityDamageEvent). */
+    ON_ANY_DAMAGE,
+
+    /** Boss acquires a living target (EntityTargetLivingEntityEvent). */
+    ON_TARGET
+}
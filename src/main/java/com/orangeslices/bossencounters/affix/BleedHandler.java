@@ -0,0 +1,59 @@
+package com.orangeslices.bossencounters.affix;
+
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.orangeslices.bossencounters.affix.AffixContext.isAlive;
+
+/**
+ * Applies WITHER to the target.
+ */
+final class BleedHandler implements AffixHandler {
+
+    @Override
+    public Affix affix() {
+        return Affix.BLEED;
+    }
+
+    @Override
+    public Set<AffixTrigger> triggers() {
+        return EnumSet.of(AffixTrigger.ON_ATTACK);
+    }
+
+    @Override
+    public void onAttack(AffixContext ctx, EntityDamageByEntityEvent event, LivingEntity target) {
+        var cfg = ctx.cfg.bleed;
+        if (!cfg.enabled) return;
+
+        double scale = ctx.scale;
+
+        // scale duration; optionally bump amplifier at high ranks
+        int scaledDuration = (int) Math.round(cfg.durationTicks * scale);
+        scaledDuration = Math.max(1, Math.min(240, scaledDuration)); // cap at 12s
+
+        int amp = Math.max(0, cfg.amplifier);
+        if (scale >= 1.45) amp += 1;          // PURPLE+
+        if (scale >= 1.70) amp += 1;          // GOLD+ (another bump)
+        amp = Math.min(3, amp);               // keep sane
+
+        if (!ctx.shouldProc(Affix.BLEED, cfg.chance, cfg.cooldownTicks) || !isAlive(target)) return;
+
+        target.addPotionEffect(new PotionEffect(
+                PotionEffectType.WITHER,
+                scaledDuration,
+                amp,
+                true, true, true
+        ));
+
+        target.getWorld().spawnParticle(Particle.DAMAGE_INDICATOR, target.getLocation().add(0, 1.0, 0),
+                12, 0.3, 0.4, 0.3, 0.0);
+        target.getWorld().playSound(target.getLocation(), Sound.ENTITY_WITHER_HURT, 0.3f, 1.7f);
+    }
+}
@@ -0,0 +1,52 @@
+package com.orangeslices.bossencounters.affix;
+
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityTargetLivingEntityEvent;
+import org.bukkit.potion.PotionEffect;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Debuffs whatever the boss starts targeting.
+ */
+final class IntimidateHandler implements AffixHandler {
+
+    @Override
+    public Affix affix() {
+        return Affix.INTIMIDATE;
+    }
+
+    @Override
+    public Set<AffixTrigger> triggers() {
+        return EnumSet.of(AffixTrigger.ON_TARGET);
+    }
+
+    @Override
+    public void onTarget(AffixContext ctx, EntityTargetLivingEntityEvent event, LivingEntity target) {
+        var cfg = ctx.cfg.intimidate;
+        if (!cfg.enabled) return;
+
+        if (!ctx.cooldownOk(Affix.INTIMIDATE)) return;
+
+        double scale = ctx.scale;
+
+        // scale duration; optionally bump amplifier at higher ranks
+        int scaledDuration = (int) Math.round(cfg.durationTicks * (0.85 + 0.15 * scale));
+        scaledDuration = Math.max(1, Math.min(240, scaledDuration));
+
+        int amp = Math.max(0, cfg.amplifier);
+        if (scale >= 1.45) amp += 1;
+        if (scale >= 1.70) amp += 1;
+        amp = Math.min(3, amp);
+
+        target.addPotionEffect(new PotionEffect(cfg.effect, scaledDuration, amp, true, true, true));
+        target.getWorld().spawnParticle(Particle.SMOKE, target.getLocation().add(0, 1.0, 0),
+                12, 0.35, 0.45, 0.35, 0.01);
+        target.getWorld().playSound(target.getLocation(), Sound.ENTITY_ENDERMAN_STARE, 0.25f, 1.2f);
+
+        ctx.startCooldown(Affix.INTIMIDATE, cfg.cooldownTicks);
+    }
+}
@@ -0,0 +1,52 @@
+package com.orangeslices.bossencounters.affix;
+
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.util.Vector;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.orangeslices.bossencounters.affix.AffixContext.clamp;
+import static com.orangeslices.bossencounters.affix.AffixContext.isAlive;
+
+/**
+ * Launches the target away from the boss.
+ */
+final class KnockbackHandler implements AffixHandler {
+
+    @Override
+    public Affix affix() {
+        return Affix.KNOCKBACK;
+    }
+
+    @Override
+    public Set<AffixTrigger> triggers() {
+        return EnumSet.of(AffixTrigger.ON_ATTACK);
+    }
+
+    @Override
+    public void onAttack(AffixContext ctx, EntityDamageByEntityEvent event, LivingEntity target) {
+        var cfg = ctx.cfg.knockback;
+        if (!cfg.enabled) return;
+
+        // scale + clamp (avoid yeeting into orbit)
+        double strength = clamp(cfg.strength * (0.85 + 0.15 * ctx.scale), 0.2, 2.2);
+        double upward = clamp(cfg.upward * (0.90 + 0.10 * ctx.scale), 0.05, 0.65);
+
+        if (!ctx.shouldProc(Affix.KNOCKBACK, cfg.chance, cfg.cooldownTicks) || !isAlive(target)) return;
+
+        Vector away = target.getLocation().toVector()
+                .subtract(ctx.boss.getLocation().toVector())
+                .normalize()
+                .multiply(strength);
+        away.setY(upward);
+
+        target.setVelocity(away);
+        target.getWorld().spawnParticle(Particle.CLOUD, target.getLocation().add(0, 1.0, 0),
+                10, 0.3, 0.2, 0.3, 0.02);
+        target.getWorld().playSound(target.getLocation(), Sound.ENTITY_ZOMBIE_ATTACK_IRON_DOOR, 0.5f, 1.4f);
+    }
+}
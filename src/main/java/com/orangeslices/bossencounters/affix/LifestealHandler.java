@@ -0,0 +1,59 @@
+package com.orangeslices.bossencounters.affix;
+
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.orangeslices.bossencounters.affix.AffixContext.clamp;
+import static com.orangeslices.bossencounters.affix.AffixContext.isAlive;
+
+/**
+ * Heals the boss for a share of the damage it deals.
+ */
+final class LifestealHandler implements AffixHandler {
+
+    @Override
+    public Affix affix() {
+        return Affix.LIFESTEAL;
+    }
+
+    @Override
+    public Set<AffixTrigger> triggers() {
+        return EnumSet.of(AffixTrigger.ON_ATTACK);
+    }
+
+    @Override
+    public void onAttack(AffixContext ctx, EntityDamageByEntityEvent event, LivingEntity target) {
+        var cfg = ctx.cfg.lifesteal;
+        if (!cfg.enabled) return;
+
+        LivingEntity boss = ctx.boss;
+
+        // scale + clamp
+        double healPct = clamp(cfg.healPercentOfDamage * ctx.scale, 0.0, 0.55);
+
+        if (!ctx.shouldProc(Affix.LIFESTEAL, cfg.chance, cfg.cooldownTicks)) return;
+
+        double damage = event.getFinalDamage();
+        double heal = damage * healPct;
+
+        if (heal > 0 && isAlive(boss)) {
+            AttributeInstance maxHp = boss.getAttribute(Attribute.MAX_HEALTH);
+            double max = (maxHp != null) ? maxHp.getValue() : boss.getHealth();
+            double newHealth = Math.min(max, boss.getHealth() + heal);
+
+            if (newHealth > boss.getHealth()) {
+                boss.setHealth(newHealth);
+                boss.getWorld().spawnParticle(Particle.HEART, boss.getLocation().add(0, 1.2, 0),
+                        6, 0.3, 0.4, 0.3, 0.0);
+                boss.getWorld().playSound(boss.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 0.35f, 1.8f);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.orangeslices.bossencounters.affix;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.orangeslices.bossencounters.affix.AffixContext.isAlive;
+
+/**
+ * Marks the target; the next boss hit on a marked target deals bonus damage
+ * (consumed by AffixListener before handlers run).
+ */
+final class MarkHandler implements AffixHandler {
+
+    private final NamespacedKey markUntilKey;
+
+    MarkHandler(NamespacedKey markUntilKey) {
+        this.markUntilKey = markUntilKey;
+    }
+
+    @Override
+    public Affix affix() {
+        return Affix.MARK;
+    }
+
+    @Override
+    public Set<AffixTrigger> triggers() {
+        return EnumSet.of(AffixTrigger.ON_ATTACK);
+    }
+
+    @Override
+    public void onAttack(AffixContext ctx, EntityDamageByEntityEvent event, LivingEntity target) {
+        var cfg = ctx.cfg.mark;
+        if (!cfg.enabled) return;
+
+        // scale duration a bit, but cap it so it doesn't feel unfair
+        long scaledDurationMs = (long) Math.round(cfg.markDurationMs * (0.85 + 0.15 * ctx.scale));
+        scaledDurationMs = Math.max(500L, Math.min(6000L, scaledDurationMs));
+
+        if (!ctx.shouldProc(Affix.MARK, cfg.chance, cfg.cooldownTicks) || !isAlive(target)) return;
+
+        long until = System.currentTimeMillis() + Math.max(250L, scaledDurationMs);
+        target.getPersistentDataContainer().set(markUntilKey, PersistentDataType.LONG, until);
+
+        target.getWorld().spawnParticle(Particle.GLOW, target.getLocation().add(0, 1.0, 0),
+                10, 0.3, 0.4, 0.3, 0.0);
+        target.getWorld().playSound(target.getLocation(), Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 0.35f, 1.4f);
+    }
+}
@@ -0,0 +1,96 @@
+package com.orangeslices.bossencounters.affix;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+
+import java.util.Collection;
+
+import static com.orangeslices.bossencounters.affix.AffixContext.isAlive;
+
+/**
+ * Bounded k-nearest selection around a boss.
+ *
+ * Keeps the k closest candidates in a fixed-size max-heap keyed by squared distance
+ * (root = farthest kept), so n candidates cost O(n log k) with each location read once
+ * and no per-comparison allocation.
+ */
+final class NearestTargets {
+
+    private NearestTargets() {
+    }
+
+    /**
+     * Up to {@code k} living, alive entities from {@code candidates} (excluding the boss),
+     * nearest first.
+     */
+    static LivingEntity[] select(LivingEntity boss, Collection<Entity> candidates, int k) {
+        if (k <= 0 || candidates.isEmpty()) return new LivingEntity[0];
+
+        Location origin = boss.getLocation();
+        double ox = origin.getX();
+        double oy = origin.getY();
+        double oz = origin.getZ();
+
+        int cap = Math.min(k, candidates.size());
+        double[] dist = new double[cap];
+        LivingEntity[] heap = new LivingEntity[cap];
+        int size = 0;
+
+        for (Entity e : candidates) {
+            if (e == boss) continue;
+            if (!(e instanceof LivingEntity le)) continue;
+            if (!isAlive(le)) continue;
+
+            Location loc = le.getLocation();
+            double dx = loc.getX() - ox;
+            double dy = loc.getY() - oy;
+            double dz = loc.getZ() - oz;
+            double d = dx * dx + dy * dy + dz * dz;
+
+            if (size < cap) {
+                siftUp(dist, heap, size++, d, le);
+            } else if (d < dist[0]) {
+                siftDown(dist, heap, size, d, le);
+            }
+        }
+
+        // pop farthest-first into the tail -> ascending order
+        LivingEntity[] out = new LivingEntity[size];
+        for (int n = size; n > 0; n--) {
+            out[n - 1] = heap[0];
+            if (n > 1) siftDown(dist, heap, n - 1, dist[n - 1], heap[n - 1]);
+        }
+        return out;
+    }
+
+    private static void siftUp(double[] dist, LivingEntity[] heap, int i, double d, LivingEntity e) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (dist[parent] >= d) break;
+            dist[i] = dist[parent];
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        dist[i] = d;
+        heap[i] = e;
+    }
+
+    /**
+     * Places (d, e) at the root of a heap of {@code size} elements and restores order.
+     */
+    private static void siftDown(double[] dist, LivingEntity[] heap, int size, double d, LivingEntity e) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && dist[child + 1] > dist[child]) child++;
+            if (dist[child] <= d) break;
+            dist[i] = dist[child];
+            heap[i] = heap[child];
+            i = child;
+        }
+        dist[i] = d;
+        heap[i] = e;
+    }
+}
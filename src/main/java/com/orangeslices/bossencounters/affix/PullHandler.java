@@ -0,0 +1,52 @@
+package com.orangeslices.bossencounters.affix;
+
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.util.Vector;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.orangeslices.bossencounters.affix.AffixContext.clamp;
+import static com.orangeslices.bossencounters.affix.AffixContext.isAlive;
+
+/**
+ * Yanks the target toward the boss.
+ */
+final class PullHandler implements AffixHandler {
+
+    @Override
+    public Affix affix() {
+        return Affix.PULL;
+    }
+
+    @Override
+    public Set<AffixTrigger> triggers() {
+        return EnumSet.of(AffixTrigger.ON_ATTACK);
+    }
+
+    @Override
+    public void onAttack(AffixContext ctx, EntityDamageByEntityEvent event, LivingEntity target) {
+        var cfg = ctx.cfg.pull;
+        if (!cfg.enabled) return;
+
+        // scale + clamp
+        double force = clamp(cfg.force * (0.85 + 0.15 * ctx.scale), 0.1, 1.35);
+
+        if (!ctx.shouldProc(Affix.PULL, cfg.chance, cfg.cooldownTicks) || !isAlive(target)) return;
+
+        Vector toward = ctx.boss.getLocation().toVector()
+                .subtract(target.getLocation().toVector())
+                .normalize()
+                .multiply(force);
+
+        toward.setY(Math.min(0.25, toward.getY() + 0.15));
+        target.setVelocity(toward);
+
+        target.getWorld().spawnParticle(Particle.PORTAL, target.getLocation().add(0, 1.0, 0),
+                18, 0.4, 0.4, 0.4, 0.05);
+        target.getWorld().playSound(target.getLocation(), Sound.ENTITY_ENDERMAN_TELEPORT, 0.25f, 2.0f);
+    }
+}
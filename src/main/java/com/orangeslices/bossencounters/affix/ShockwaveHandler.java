@@ -0,0 +1,67 @@
+package com.orangeslices.bossencounters.affix;
+
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.util.Vector;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.orangeslices.bossencounters.affix.AffixContext.clamp;
+import static com.orangeslices.bossencounters.affix.AffixContext.isAlive;
+
+/**
+ * When the boss takes damage, blasts nearby entities away.
+ */
+final class ShockwaveHandler implements AffixHandler {
+
+    @Override
+    public Affix affix() {
+        return Affix.SHOCKWAVE;
+    }
+
+    @Override
+    public Set<AffixTrigger> triggers() {
+        return EnumSet.of(AffixTrigger.ON_ANY_DAMAGE);
+    }
+
+    @Override
+    public void onAnyDamage(AffixContext ctx, EntityDamageEvent event) {
+        var cfg = ctx.cfg.shockwave;
+        if (!cfg.enabled) return;
+
+        LivingEntity boss = ctx.boss;
+        double scale = ctx.scale;
+
+        // scale + clamp
+        double radius = clamp(cfg.radius * (0.90 + 0.10 * scale), 2.0, 7.0);
+        double damage = clamp(cfg.damage * scale, 0.0, 14.0);
+        double knockback = clamp(cfg.knockback * (0.85 + 0.15 * scale), 0.2, 2.1);
+        int maxTargets = cfg.maxTargets;
+
+        if (!ctx.shouldProc(Affix.SHOCKWAVE, cfg.chance, cfg.cooldownTicks)) return;
+
+        LivingEntity[] targets = NearestTargets.select(boss, boss.getNearbyEntities(radius, radius, radius), maxTargets);
+
+        Location origin = boss.getLocation();
+        for (LivingEntity t : targets) {
+            if (!isAlive(t)) continue;
+
+            Vector away = t.getLocation().toVector()
+                    .subtract(origin.toVector())
+                    .normalize()
+                    .multiply(knockback);
+            away.setY(Math.max(0.25, away.getY() + 0.25));
+
+            t.setVelocity(away);
+            if (damage > 0) t.damage(damage, boss);
+        }
+
+        boss.getWorld().spawnParticle(Particle.EXPLOSION, origin.clone().add(0, 0.5, 0),
+                1, 0, 0, 0, 0);
+        boss.getWorld().playSound(origin, Sound.ENTITY_GENERIC_EXPLODE, 0.35f, 1.8f);
+    }
+}
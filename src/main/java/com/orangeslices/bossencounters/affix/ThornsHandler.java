@@ -0,0 +1,50 @@
+package com.orangeslices.bossencounters.affix;
+
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.orangeslices.bossencounters.affix.AffixContext.clamp;
+import static com.orangeslices.bossencounters.affix.AffixContext.isAlive;
+
+/**
+ * Reflects a share of melee damage back at the attacker.
+ */
+final class ThornsHandler implements AffixHandler {
+
+    @Override
+    public Affix affix() {
+        return Affix.THORNS;
+    }
+
+    @Override
+    public Set<AffixTrigger> triggers() {
+        return EnumSet.of(AffixTrigger.ON_HURT);
+    }
+
+    @Override
+    public void onHurt(AffixContext ctx, EntityDamageByEntityEvent event) {
+        var cfg = ctx.cfg.thorns;
+        if (!cfg.enabled) return;
+        if (!(event.getDamager() instanceof LivingEntity attacker) || !isAlive(attacker)) return;
+
+        LivingEntity boss = ctx.boss;
+
+        // scale + clamp (reflect can get toxic fast)
+        double reflectPct = clamp(cfg.reflectPercent * (0.85 + 0.15 * ctx.scale), 0.0, 0.55);
+
+        if (!ctx.shouldProc(Affix.THORNS, cfg.chance, cfg.cooldownTicks) || !isAlive(boss)) return;
+
+        double reflect = event.getFinalDamage() * reflectPct;
+        if (reflect > 0.0 && isAlive(attacker)) {
+            attacker.damage(reflect, boss);
+            attacker.getWorld().spawnParticle(Particle.SWEEP_ATTACK, attacker.getLocation().add(0, 1.0, 0),
+                    1, 0, 0, 0, 0);
+            attacker.getWorld().playSound(attacker.getLocation(), Sound.ENTITY_PLAYER_HURT, 0.45f, 1.8f);
+        }
+    }
+}
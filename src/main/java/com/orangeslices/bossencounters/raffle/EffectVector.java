@@ -0,0 +1,169 @@
+package com.orangeslices.bossencounters.raffle;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Raffle effect levels, one byte per RaffleEffectId (by ordinal; 0 = absent).
+ *
+ * Replaces Map&lt;RaffleEffectId, Integer&gt;: no boxing, merges happen in place and
+ * iteration is in RaffleEffectId declaration order. Levels are 0..255 and non-leveling
+ * effects are always stored as 1.
+ *
+ * Vectors shared between engines (EquipmentProfile) are frozen; mutating a frozen vector
+ * throws IllegalStateException.
+ */
+public final class EffectVector {
+
+    private static final RaffleEffectId[] IDS = RaffleEffectId.values();
+
+    public static final EffectVector EMPTY = new EffectVector().freeze();
+
+    private final byte[] levels = new byte[IDS.length];
+    private int count;
+    private boolean frozen;
+
+    public EffectVector() {
+    }
+
+    public EffectVector copy() {
+        EffectVector out = new EffectVector();
+        System.arraycopy(levels, 0, out.levels, 0, levels.length);
+        out.count = count;
+        return out;
+    }
+
+    /**
+     * Makes this vector read-only and returns it.
+     */
+    public EffectVector freeze() {
+        frozen = true;
+        return this;
+    }
+
+    /* -------------------------
+       Queries
+       ------------------------- */
+
+    public int get(RaffleEffectId id) {
+        return id == null ? 0 : levels[id.ordinal()] & 0xFF;
+    }
+
+    public boolean has(RaffleEffectId id) {
+        return get(id) > 0;
+    }
+
+    /** Number of effects present. */
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public boolean hasCurse() {
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] != 0 && IDS[i].isCurse()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Present effects in declaration order.
+     */
+    public void forEach(ObjIntConsumer<RaffleEffectId> action) {
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] != 0) action.accept(IDS[i], levels[i] & 0xFF);
+        }
+    }
+
+    /* -------------------------
+       Updates (in place)
+       ------------------------- */
+
+    /**
+     * Sets the level (non-leveling effects become 1; level <= 0 removes).
+     */
+    public void set(RaffleEffectId id, int level) {
+        if (id == null) return;
+        checkWritable();
+
+        int i = id.ordinal();
+        int next = normalize(id, level);
+        if (levels[i] == 0 && next != 0) count++;
+        else if (levels[i] != 0 && next == 0) count--;
+        levels[i] = (byte) next;
+    }
+
+    public void remove(RaffleEffectId id) {
+        set(id, 0);
+    }
+
+    /**
+     * Keeps the higher of the current and given level.
+     */
+    public void mergeHighest(RaffleEffectId id, int level) {
+        if (id == null || level <= 0) return;
+        if (normalize(id, level) > get(id)) set(id, level);
+    }
+
+    /**
+     * Per-effect max with another vector.
+     */
+    public void mergeHighest(EffectVector other) {
+        if (other == null || other.count == 0) return;
+        checkWritable();
+
+        for (int i = 0; i < levels.length; i++) {
+            int theirs = other.levels[i] & 0xFF;
+            if (theirs == 0) continue;
+
+            int mine = levels[i] & 0xFF;
+            if (theirs > mine) {
+                if (mine == 0) count++;
+                levels[i] = (byte) theirs;
+            }
+        }
+    }
+
+    public void clear() {
+        checkWritable();
+        Arrays.fill(levels, (byte) 0);
+        count = 0;
+    }
+
+    private static int normalize(RaffleEffectId id, int level) {
+        if (level <= 0) return 0;
+        if (!id.canLevel()) return 1;
+        return Math.min(255, level);
+    }
+
+    private void checkWritable() {
+        if (frozen) throw new IllegalStateException("EffectVector is read-only");
+    }
+
+    /* -------------------------
+       Object
+       ------------------------- */
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof EffectVector v && Arrays.equals(levels, v.levels);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(levels);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((id, lvl) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(id.name()).append('=').append(lvl);
+        });
+        return sb.append('}').toString();
+    }
+}
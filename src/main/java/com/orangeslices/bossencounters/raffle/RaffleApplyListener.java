@@ -1,11 +1,10 @@
 package com.orangeslices.bossencounters.raffle;
 
 import com.orangeslices.bossencounters.BossEncountersPlugin;
+import com.orangeslices.bossencounters.BossEncountersSettings;
 import com.orangeslices.bossencounters.raffle.effects.RafflePotionTable;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
-import org.bukkit.Sound;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -48,11 +47,11 @@ public final class RaffleApplyListener implements Listener {
         Player player = event.getPlayer();
         if (!player.isSneaking()) return;
 
-        FileConfiguration cfg = plugin.getConfig();
+        BossEncountersSettings.Raffle cfg = plugin.settings().raffle;
 
-        boolean requireTokenMainhand = cfg.getBoolean("raffle.require_token_mainhand", true);
-        boolean requireArmorOffhand = cfg.getBoolean("raffle.require_armor_offhand", true);
-        long cooldownMs = cfg.getLong("raffle.cooldown_ms", 250L);
+        boolean requireTokenMainhand = cfg.requireTokenMainhand;
+        boolean requireArmorOffhand = cfg.requireArmorOffhand;
+        long cooldownMs = cfg.cooldownMs;
 
         ItemStack main = player.getInventory().getItemInMainHand();
         ItemStack off = player.getInventory().getItemInOffHand();
@@ -66,7 +65,7 @@ public final class RaffleApplyListener implements Listener {
         // If config requires mainhand token, enforce it
         if (requireTokenMainhand && !mainIsToken) {
             event.setCancelled(true);
-            sendFail(player, cfg, "raffle.message.fail_generic", "Hold the token in your main hand.");
+            sendFail(player, cfg, null, "Hold the token in your main hand.");
             playFailSound(player, cfg);
             return;
         }
@@ -75,13 +74,13 @@ public final class RaffleApplyListener implements Listener {
         if (requireArmorOffhand && mainIsToken) {
             if (off == null || off.getType() == Material.AIR) {
                 event.setCancelled(true);
-                sendFail(player, cfg, "raffle.message.fail_no_armor", null);
+                sendFail(player, cfg, cfg.msgFailNoArmor, null);
                 playFailSound(player, cfg);
                 return;
             }
             if (!isArmor(off.getType())) {
                 event.setCancelled(true);
-                sendFail(player, cfg, "raffle.message.fail_not_armor", null);
+                sendFail(player, cfg, cfg.msgFailNotArmor, null);
                 playFailSound(player, cfg);
                 return;
             }
@@ -108,7 +107,7 @@ public final class RaffleApplyListener implements Listener {
         } else {
             // Flexible mode: exactly one token in either hand
             if (mainIsToken && offIsToken) {
-                sendFail(player, cfg, "raffle.message.fail_generic", "Hold armor in one hand and the token in the other.");
+                sendFail(player, cfg, null, "Hold armor in one hand and the token in the other.");
                 playFailSound(player, cfg);
                 return;
             }
@@ -117,13 +116,13 @@ public final class RaffleApplyListener implements Listener {
         }
 
         if (armor == null || armor.getType() == Material.AIR) {
-            sendFail(player, cfg, "raffle.message.fail_no_armor", null);
+            sendFail(player, cfg, cfg.msgFailNoArmor, null);
             playFailSound(player, cfg);
             return;
         }
 
         if (!isArmor(armor.getType())) {
-            sendFail(player, cfg, "raffle.message.fail_not_armor", null);
+            sendFail(player, cfg, cfg.msgFailNotArmor, null);
             playFailSound(player, cfg);
             return;
         }
@@ -133,8 +132,7 @@ public final class RaffleApplyListener implements Listener {
 
         if (!result.success) {
             String reason = result.message;
-            String msg = cfg.getString("raffle.message.fail_generic", "&c{reason}");
-            msg = msg.replace("{reason}", reason == null ? "Failed." : reason);
+            String msg = cfg.msgFailGeneric.replace("{reason}", reason == null ? "Failed." : reason);
             player.sendMessage(color(msg));
             playFailSound(player, cfg);
             return;
@@ -145,10 +143,10 @@ public final class RaffleApplyListener implements Listener {
 
         // Consume token only on success
         consumeOne(player, token);
+        plugin.equipmentTracker().markDirty(player);
 
         // Success feedback
-        String success = cfg.getString("raffle.message.success", "&dSomething shifts within the armor...");
-        player.sendMessage(color(success));
+        player.sendMessage(color(cfg.msgSuccess));
         playSuccessSound(player, cfg);
     }
 
@@ -196,42 +194,28 @@ public final class RaffleApplyListener implements Listener {
         return a == b;
     }
 
-    private void sendFail(Player p, FileConfiguration cfg, String key, String fallbackReason) {
-        String msg = cfg.getString(key);
+    /**
+     * Sends the specific message if configured, otherwise fail_generic with the fallback reason.
+     */
+    private void sendFail(Player p, BossEncountersSettings.Raffle cfg, String specific, String fallbackReason) {
+        String msg = specific;
         if (msg == null || msg.isBlank()) {
-            msg = cfg.getString("raffle.message.fail_generic", "&c{reason}");
-            msg = msg.replace("{reason}", fallbackReason == null ? "Failed." : fallbackReason);
+            msg = cfg.msgFailGeneric.replace("{reason}", fallbackReason == null ? "Failed." : fallbackReason);
         }
         p.sendMessage(color(msg));
     }
 
-    private void playSuccessSound(Player p, FileConfiguration cfg) {
-        if (!cfg.getBoolean("raffle.sound.success.enabled", true)) return;
-        String key = cfg.getString("raffle.sound.success.key", "BLOCK_ENCHANTMENT_TABLE_USE");
-        float vol = (float) cfg.getDouble("raffle.sound.success.volume", 0.8);
-        float pit = (float) cfg.getDouble("raffle.sound.success.pitch", 1.2);
-
-        Sound s = safeSound(key);
-        if (s != null) p.playSound(p.getLocation(), s, vol, pit);
+    private void playSuccessSound(Player p, BossEncountersSettings.Raffle cfg) {
+        playSound(p, cfg.successSound);
     }
 
-    private void playFailSound(Player p, FileConfiguration cfg) {
-        if (!cfg.getBoolean("raffle.sound.fail.enabled", true)) return;
-        String key = cfg.getString("raffle.sound.fail.key", "BLOCK_NOTE_BLOCK_BASS");
-        float vol = (float) cfg.getDouble("raffle.sound.fail.volume", 0.7);
-        float pit = (float) cfg.getDouble("raffle.sound.fail.pitch", 0.9);
-
-        Sound s = safeSound(key);
-        if (s != null) p.playSound(p.getLocation(), s, vol, pit);
+    private void playFailSound(Player p, BossEncountersSettings.Raffle cfg) {
+        playSound(p, cfg.failSound);
     }
 
-    private Sound safeSound(String key) {
-        if (key == null) return null;
-        try {
-            return Sound.valueOf(key.trim().toUpperCase());
-        } catch (IllegalArgumentException ignored) {
-            return null;
-        }
+    private void playSound(Player p, BossEncountersSettings.RaffleSound sound) {
+        if (!sound.enabled || sound.sound == null) return;
+        p.playSound(p.getLocation(), sound.sound, sound.volume, sound.pitch);
     }
 
     private boolean isArmor(Material mat) {
@@ -265,21 +249,7 @@ public final class RaffleApplyListener implements Listener {
     }
 
     private boolean isEffectCompatibleWithSlot(RaffleEffectId id, EquipmentSlot slot) {
-        if (id == null || slot == null) return false;
-
-        // If it's NOT a potion-table effect (ex: custom curse), allow it on any armor
-        RafflePotionTable.Entry entry = null;
-        for (RafflePotionTable.Entry e : RafflePotionTable.entries()) {
-            if (e.id == id) { entry = e; break; }
-        }
-        if (entry == null) return true;
-
-        return switch (entry.slotRule) {
-            case ANY_ARMOR -> true;
-            case HELMET_ONLY -> slot == EquipmentSlot.HEAD;
-            case CHESTPLATE_ONLY -> slot == EquipmentSlot.CHEST;
-            case LEGGINGS_ONLY -> slot == EquipmentSlot.LEGS;
-            case BOOTS_ONLY -> slot == EquipmentSlot.FEET;
-        };
+        // Non potion-table effects (ex: custom curses) fit any armor
+        return RafflePotionTable.isCompatible(id, slot);
     }
 }
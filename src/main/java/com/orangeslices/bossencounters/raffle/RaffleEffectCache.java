@@ -0,0 +1,106 @@
+package com.orangeslices.bossencounters.raffle;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU of decoded raffle payloads: raw stored value (binary data or legacy CSV)
+ * to a frozen EffectVector.
+ *
+ * Most players wear a handful of identical rolls, so the same few payloads are decoded
+ * over and over; with the cache that becomes a hash lookup. Shared by every reader
+ * (equipment decode workers, RaffleService, lore), hence synchronized.
+ */
+public final class RaffleEffectCache {
+
+    // distinct rolls in circulation are few; this is plenty and tiny in memory
+    private static final int CAPACITY = 512;
+
+    private static final Map<Object, EffectVector> ENTRIES =
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, EffectVector> eldest) {
+                    return size() > CAPACITY;
+                }
+            };
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private RaffleEffectCache() {}
+
+    /**
+     * Decoded effects for a stored payload (binary wins over legacy). The result is
+     * frozen and shared: copy() it before changing levels.
+     */
+    public static EffectVector get(byte[] data, String legacy) {
+        if (data == null && legacy == null) return EffectVector.EMPTY;
+
+        Object key = data != null ? new BinaryKey(data) : legacy;
+        synchronized (ENTRIES) {
+            EffectVector cached = ENTRIES.get(key);
+            if (cached != null) {
+                HITS.increment();
+                return cached;
+            }
+        }
+
+        MISSES.increment();
+        EffectVector decoded = new EffectVector();
+        RaffleEffectCodec.decodeStored(data, legacy, decoded);
+        decoded = decoded.isEmpty() ? EffectVector.EMPTY : decoded.freeze();
+
+        synchronized (ENTRIES) {
+            ENTRIES.put(key, decoded);
+        }
+        return decoded;
+    }
+
+    public static void clear() {
+        synchronized (ENTRIES) {
+            ENTRIES.clear();
+        }
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    public static int size() {
+        synchronized (ENTRIES) {
+            return ENTRIES.size();
+        }
+    }
+
+    public static long hits() {
+        return HITS.sum();
+    }
+
+    public static long misses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * byte[] by content. The array comes straight from a PDC read (already a copy)
+     * and is never modified afterwards.
+     */
+    private static final class BinaryKey {
+        private final byte[] data;
+        private final int hash;
+
+        BinaryKey(byte[] data) {
+            this.data = data;
+            this.hash = Arrays.hashCode(data);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof BinaryKey k && hash == k.hash && Arrays.equals(data, k.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
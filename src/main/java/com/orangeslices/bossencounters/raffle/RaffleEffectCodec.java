@@ -0,0 +1,131 @@
+package com.orangeslices.bossencounters.raffle;
+
+import io.papermc.paper.persistence.PersistentDataContainerView;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * Binary form of an item's raffle effects (RaffleKeys.EFFECT_DATA, BYTE_ARRAY):
+ *
+ *   [version][code, level][code, level]...
+ *
+ * Codes are RaffleEffectId.code() and levels are unsigned bytes. Items still carrying
+ * the legacy "ID:level,ID:level" string (RaffleKeys.EFFECTS) are read transparently
+ * and converted the next time their effects are written.
+ *
+ * Normalization matches RaffleEffectReader: unknown ids are skipped, non-leveling
+ * effects are clamped to 1, duplicates keep the highest level.
+ */
+public final class RaffleEffectCodec {
+
+    public static final byte VERSION = 1;
+
+    private RaffleEffectCodec() {}
+
+    /* -------------------------
+       PDC
+       ------------------------- */
+
+    /**
+     * Reads effects into {@code out} (binary first, legacy string as fallback),
+     * going through RaffleEffectCache.
+     */
+    public static void read(PersistentDataContainerView pdc, EffectVector out) {
+        if (pdc == null) return;
+
+        byte[] data = pdc.get(RaffleKeys.EFFECT_DATA, PersistentDataType.BYTE_ARRAY);
+        String legacy = data == null ? pdc.get(RaffleKeys.EFFECTS, PersistentDataType.STRING) : null;
+        out.mergeHighest(RaffleEffectCache.get(data, legacy));
+    }
+
+    /**
+     * Decodes raw payloads already taken out of a PDC (binary wins over legacy), uncached.
+     * Touches no Bukkit state, so it is safe off the main thread.
+     */
+    public static void decodeStored(byte[] data, String legacy, EffectVector out) {
+        if (data != null) decode(data, out);
+        else if (legacy != null) decodeLegacy(legacy, out);
+    }
+
+    /**
+     * Writes effects in binary form and drops any legacy string.
+     */
+    public static void write(PersistentDataContainer pdc, EffectVector effects) {
+        pdc.remove(RaffleKeys.EFFECTS);
+
+        if (effects == null || effects.isEmpty()) {
+            pdc.remove(RaffleKeys.EFFECT_DATA);
+            return;
+        }
+        pdc.set(RaffleKeys.EFFECT_DATA, PersistentDataType.BYTE_ARRAY, encode(effects));
+    }
+
+    /* -------------------------
+       Binary
+       ------------------------- */
+
+    public static byte[] encode(EffectVector effects) {
+        byte[] out = new byte[1 + effects.size() * 2];
+        out[0] = VERSION;
+
+        int i = 1;
+        for (RaffleEffectId id : RaffleEffectId.values()) {
+            int level = effects.get(id);
+            if (level == 0) continue;
+
+            out[i++] = (byte) id.code();
+            out[i++] = (byte) level;
+        }
+        return out;
+    }
+
+    public static void decode(byte[] data, EffectVector out) {
+        if (data == null || data.length == 0) return;
+        if (data[0] != VERSION) return; // unknown (newer) layout: treat as no effects
+
+        for (int i = 1; i + 1 < data.length; i += 2) {
+            RaffleEffectId id = RaffleEffectId.fromCode(data[i] & 0xFF);
+            out.mergeHighest(id, data[i + 1] & 0xFF);
+        }
+    }
+
+    /* -------------------------
+       Legacy CSV
+       ------------------------- */
+
+    /**
+     * Parses "ID:level,ID:level" (with the aliases handled by RaffleEffectId.fromString).
+     * An unreadable level counts as 1 so the effect survives migration.
+     */
+    public static void decodeLegacy(String raw, EffectVector out) {
+        int len = raw.length();
+        int start = 0;
+        while (start < len) {
+            int end = raw.indexOf(',', start);
+            if (end < 0) end = len;
+
+            // exactly one ':' inside this part
+            int colon = raw.indexOf(':', start);
+            int extra = colon < 0 ? -1 : raw.indexOf(':', colon + 1);
+            if (colon >= start && colon < end && (extra < 0 || extra >= end)) {
+                RaffleEffectId id = RaffleEffectId.fromString(raw.substring(start, colon));
+                out.mergeHighest(id, parseLevel(raw, colon + 1, end));
+            }
+            start = end + 1;
+        }
+    }
+
+    private static int parseLevel(String raw, int from, int to) {
+        while (from < to && raw.charAt(from) == ' ') from++;
+        while (to > from && raw.charAt(to - 1) == ' ') to--;
+        if (from == to) return 1;
+
+        int level = 0;
+        for (int i = from; i < to; i++) {
+            char c = raw.charAt(i);
+            if (c < '0' || c > '9' || level > 1_000) return 1;
+            level = level * 10 + (c - '0');
+        }
+        return level;
+    }
+}
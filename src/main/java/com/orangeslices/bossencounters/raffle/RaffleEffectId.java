@@ -8,51 +8,80 @@ import java.util.Locale;
  * IMPORTANT:
  * - IDs are intentionally THEMATIC / VAGUE.
  * - fromString() includes aliases so older saved items still work.
+ * - code is the stable id used by RaffleEffectCodec; never reuse or renumber codes,
+ *   new effects take the next free one.
  */
 public enum RaffleEffectId {
 
     // -------------------------
     // GOOD (levelable)
     // -------------------------
-    VITALITY(false, true),        // Health Boost
-    IRON_WILL(false, true),       // Resistance (Chest only)
-    BLOOD_MENDING(false, true),   // Regeneration (Leggings only)
-    SKYBOUND(false, true),        // Jump Boost (Boots only)
+    VITALITY(1, false, true),        // Health Boost
+    IRON_WILL(2, false, true),       // Resistance (Chest only)
+    BLOOD_MENDING(3, false, true),   // Regeneration (Leggings only)
+    SKYBOUND(4, false, true),        // Jump Boost (Boots only)
 
     // -------------------------
     // GOOD (flat / non-leveling)
     // -------------------------
-    EMBER_WARD(false, false),     // Fire Resistance
-    FORTUNE(false, false),        // Luck
-    TIDEBOUND(false, false),      // Conduit Power (Helmet only)
-    OCEAN_GRACE(false, false),    // Dolphin's Grace (Boots only)
-    VILLAGER_FAVOR(false, false), // Hero of the Village
+    EMBER_WARD(5, false, false),     // Fire Resistance
+    FORTUNE(6, false, false),        // Luck
+    TIDEBOUND(7, false, false),      // Conduit Power (Helmet only)
+    OCEAN_GRACE(8, false, false),    // Dolphin's Grace (Boots only)
+    VILLAGER_FAVOR(9, false, false), // Hero of the Village
 
     // -------------------------
     // CURSES (non-leveling)
     // -------------------------
-    DREAD(true, false),
-    MISSTEP(true, false),
-    TERROR(true, false),
+    DREAD(10, true, false),
+    MISSTEP(11, true, false),
+    TERROR(12, true, false),
 
     // New curse pool (expandable)
-    UNEASE(true, false),
-    ECHOES(true, false),
-    DISARRAY(true, false),
-    ON_ALL_FOURS(true, false),
-    MATADOR(true, false),
-    MOTHER_HEN(true, false),
-    IMPOSTER(true, false),
-    REDUCTION(true, false);
+    UNEASE(13, true, false),
+    ECHOES(14, true, false),
+    DISARRAY(15, true, false),
+    ON_ALL_FOURS(16, true, false),
+    MATADOR(17, true, false),
+    MOTHER_HEN(18, true, false),
+    IMPOSTER(19, true, false),
+    REDUCTION(20, true, false);
+
+    private static final RaffleEffectId[] BY_CODE;
+    static {
+        int max = 0;
+        for (RaffleEffectId id : values()) max = Math.max(max, id.code);
+        BY_CODE = new RaffleEffectId[max + 1];
+        for (RaffleEffectId id : values()) {
+            if (BY_CODE[id.code] != null) throw new IllegalStateException("Duplicate raffle code " + id.code);
+            BY_CODE[id.code] = id;
+        }
+    }
 
+    private final int code;
     private final boolean curse;
     private final boolean canLevel;
 
-    RaffleEffectId(boolean curse, boolean canLevel) {
+    RaffleEffectId(int code, boolean curse, boolean canLevel) {
+        this.code = code;
         this.curse = curse;
         this.canLevel = canLevel;
     }
 
+    /**
+     * Stable binary id (1..255).
+     */
+    public int code() {
+        return code;
+    }
+
+    /**
+     * Returns null for unknown codes (e.g. written by a newer version).
+     */
+    public static RaffleEffectId fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
     public boolean isCurse() {
         return curse;
     }
@@ -11,7 +11,8 @@ public final class RaffleKeys {
 
     private RaffleKeys() {}
 
-    public static NamespacedKey EFFECTS;     // stored effects + levels
+    public static NamespacedKey EFFECTS;     // legacy "ID:level" CSV (read-only, migrated on write)
+    public static NamespacedKey EFFECT_DATA; // stored effects + levels (RaffleEffectCodec)
     public static NamespacedKey SLOT_COUNT;  // how many slots are used
 
     /**
@@ -23,6 +24,7 @@ public final class RaffleKeys {
         }
 
         EFFECTS = new NamespacedKey(plugin, "raffle_effects");
+        EFFECT_DATA = new NamespacedKey(plugin, "raffle_effect_data");
         SLOT_COUNT = new NamespacedKey(plugin, "raffle_slots");
     }
 
@@ -30,7 +32,7 @@ public final class RaffleKeys {
      * Defensive check to prevent silent null usage.
      */
     public static void validateInit() {
-        if (EFFECTS == null || SLOT_COUNT == null) {
+        if (EFFECTS == null || EFFECT_DATA == null || SLOT_COUNT == null) {
             throw new IllegalStateException(
                     "RaffleKeys not initialized. Call RaffleKeys.init(plugin) in onEnable()."
             );
@@ -34,7 +34,7 @@ public final class RaffleLoreUtil {
         ItemMeta meta = armor.getItemMeta();
         if (meta == null) return;
 
-        Map<RaffleEffectId, Integer> effects = RaffleEffectReader.readFromItem(armor);
+        EffectVector effects = RaffleEffectReader.readFromItem(armor);
 
         // Slots used comes from SLOT_COUNT (token applications), not effects.size()
         PersistentDataContainer pdc = meta.getPersistentDataContainer();
@@ -54,17 +54,17 @@ public final class RaffleLoreUtil {
             lore.add(color("&8\u25A0 &7Imprinted Effects:"));
 
             // Sort: GOOD first then CURSE, then stable by name
-            List<Map.Entry<RaffleEffectId, Integer>> sorted = new ArrayList<>(effects.entrySet());
+            List<RaffleEffectId> sorted = new ArrayList<>(effects.size());
+            effects.forEach((id, lvl) -> sorted.add(id));
             sorted.sort((a, b) -> {
-                boolean ac = a.getKey().isCurse();
-                boolean bc = b.getKey().isCurse();
+                boolean ac = a.isCurse();
+                boolean bc = b.isCurse();
                 if (ac != bc) return ac ? 1 : -1; // curses last
-                return a.getKey().name().compareTo(b.getKey().name());
+                return a.name().compareTo(b.name());
             });
 
-            for (Map.Entry<RaffleEffectId, Integer> e : sorted) {
-                RaffleEffectId id = e.getKey();
-                int level = e.getValue();
+            for (RaffleEffectId id : sorted) {
+                int level = effects.get(id);
 
                 String name = displayName(id);
                 String line;
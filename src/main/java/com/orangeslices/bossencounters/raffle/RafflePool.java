@@ -1,18 +1,44 @@
 package com.orangeslices.bossencounters.raffle;
 
+import com.orangeslices.bossencounters.WeightedSampler;
+import com.orangeslices.bossencounters.raffle.effects.RafflePotionTable;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.plugin.Plugin;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Configured raffle effects (raffle.effects) with optional rarity (raffle.weights).
+ *
+ * reloadFromConfig() precomputes one weighted sampler per armor slot x "item already
+ * cursed", so a token roll is an array lookup plus an O(1) draw. Benched curses and
+ * slot-incompatible effects are filtered out here, once.
+ */
 public final class RafflePool {
 
+    // Never rolled, even if listed in config
+    private static final Set<RaffleEffectId> BENCHED = EnumSet.of(RaffleEffectId.UNEASE, RaffleEffectId.MISSTEP);
+
+    private static final EquipmentSlot[] ARMOR_SLOTS = {
+            EquipmentSlot.HEAD, EquipmentSlot.CHEST, EquipmentSlot.LEGS, EquipmentSlot.FEET
+    };
+
     private final Plugin plugin;
     private List<RaffleEffectId> pool = new ArrayList<>();
 
+    // [armor slot index][hasCurse ? 1 : 0]
+    private WeightedSampler<RaffleEffectId>[][] samplers = emptySamplers();
+
     public RafflePool(Plugin plugin) {
         this.plugin = plugin;
     }
@@ -28,7 +54,31 @@ public final class RafflePool {
             if (id != null) parsed.add(id);
         }
 
+        // Optional rarity; keys may use any case / old alias names
+        Map<RaffleEffectId, Double> configured = new EnumMap<>(RaffleEffectId.class);
+        ConfigurationSection weightSec = cfg.getConfigurationSection("raffle.weights");
+        if (weightSec != null) {
+            for (String key : weightSec.getKeys(false)) {
+                RaffleEffectId id = RaffleEffectId.fromString(key);
+                if (id != null) configured.put(id, weightSec.getDouble(key, 1.0));
+            }
+        }
+
+        // Listing an effect twice still doubles its odds
+        Map<RaffleEffectId, Double> weights = new LinkedHashMap<>();
+        for (RaffleEffectId id : parsed) {
+            weights.merge(id, configured.getOrDefault(id, 1.0), Double::sum);
+        }
+
+        WeightedSampler<RaffleEffectId>[][] built = emptySamplers();
+        for (EquipmentSlot slot : ARMOR_SLOTS) {
+            int i = RafflePotionTable.armorSlotIndex(slot);
+            built[i][0] = buildSampler(weights, slot, false);
+            built[i][1] = buildSampler(weights, slot, true);
+        }
+
         this.pool = parsed;
+        this.samplers = built;
     }
 
     public boolean isEmpty() {
@@ -48,4 +98,37 @@ public final class RafflePool {
         int idx = ThreadLocalRandom.current().nextInt(pool.size());
         return pool.get(idx);
     }
+
+    /**
+     * Weighted roll among effects allowed on this armor slot (no curses if the item is
+     * already cursed). Returns null if nothing qualifies.
+     */
+    public RaffleEffectId roll(EquipmentSlot slot, boolean hasCurse) {
+        int i = RafflePotionTable.armorSlotIndex(slot);
+        if (i < 0) return null;
+        return samplers[i][hasCurse ? 1 : 0].sample();
+    }
+
+    private static WeightedSampler<RaffleEffectId> buildSampler(Map<RaffleEffectId, Double> weights,
+                                                                EquipmentSlot slot, boolean hasCurse) {
+        WeightedSampler.Builder<RaffleEffectId> b = WeightedSampler.builder();
+        for (Map.Entry<RaffleEffectId, Double> e : weights.entrySet()) {
+            RaffleEffectId id = e.getKey();
+            if (BENCHED.contains(id)) continue;
+            if (hasCurse && id.isCurse()) continue;
+            if (!RafflePotionTable.isCompatible(id, slot)) continue;
+            b.add(id, e.getValue());
+        }
+        return b.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static WeightedSampler<RaffleEffectId>[][] emptySamplers() {
+        WeightedSampler<RaffleEffectId>[][] out = new WeightedSampler[ARMOR_SLOTS.length][2];
+        for (WeightedSampler<RaffleEffectId>[] row : out) {
+            row[0] = WeightedSampler.empty();
+            row[1] = WeightedSampler.empty();
+        }
+        return out;
+    }
 }
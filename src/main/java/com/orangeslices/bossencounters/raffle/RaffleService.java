@@ -1,6 +1,5 @@
 package com.orangeslices.bossencounters.raffle;
 
-import com.orangeslices.bossencounters.raffle.effects.RafflePotionTable;
 import org.bukkit.Material;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
@@ -8,8 +7,6 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
-import java.util.*;
-
 /**
  * Raffle rules:
  * - Armor only
@@ -27,7 +24,6 @@ import java.util.*;
 public final class RaffleService {
 
     public static final int DEFAULT_MAX_SLOTS = 3;
-    private static final Random RNG = new Random();
 
     private final RafflePool pool;
 
@@ -60,9 +56,9 @@ public final class RaffleService {
 
         PersistentDataContainer pdc = meta.getPersistentDataContainer();
 
-        Map<RaffleEffectId, Integer> effects = readEffects(pdc);
+        EffectVector effects = readEffects(pdc);
         int slotsUsed = readSlotsUsed(pdc, effects.size());
-        boolean hasCurse = hasCurse(effects);
+        boolean hasCurse = effects.hasCurse();
 
         if (slotsUsed >= maxSlots) {
             return ApplyResult.fail("Max add-ons reached.");
@@ -80,12 +76,12 @@ public final class RaffleService {
         int newLevel;
 
         if (rolled.isCurse()) {
-            effects.put(rolled, 1);
+            effects.set(rolled, 1);
             newLevel = 1;
         } else {
             if (!rolled.canLevel()) {
-                boolean alreadyHas = effects.containsKey(rolled);
-                effects.put(rolled, 1);
+                boolean alreadyHas = effects.has(rolled);
+                effects.set(rolled, 1);
                 newLevel = 1;
 
                 if (alreadyHas) {
@@ -94,9 +90,9 @@ public final class RaffleService {
                     return ApplyResult.success(rolled, newLevel, slotsUsed, maxSlots);
                 }
             } else {
-                int current = effects.getOrDefault(rolled, 0);
+                int current = effects.get(rolled);
                 newLevel = current + 1;
-                effects.put(rolled, newLevel);
+                effects.set(rolled, newLevel);
             }
         }
 
@@ -110,50 +106,11 @@ public final class RaffleService {
     }
 
     /**
-     * Slot-authoritative roll with BENCHED curse filtering.
+     * Slot-authoritative weighted roll (benched curses and slot filtering are
+     * precomputed in RafflePool).
      */
     private RaffleEffectId rollForSlot(boolean hasCurse, EquipmentSlot targetSlot) {
-        List<RaffleEffectId> candidates = new ArrayList<>();
-
-        for (RaffleEffectId id : pool.snapshot()) {
-            if (id == null) continue;
-
-            // BENCHED CURSES
-            if (id == RaffleEffectId.UNEASE || id == RaffleEffectId.MISSTEP) {
-                continue;
-            }
-
-            if (hasCurse && id.isCurse()) continue;
-
-            if (id.isCurse()) {
-                candidates.add(id);
-                continue;
-            }
-
-            if (isGoodEffectCompatibleWithSlot(id, targetSlot)) {
-                candidates.add(id);
-            }
-        }
-
-        if (candidates.isEmpty()) return null;
-        return candidates.get(RNG.nextInt(candidates.size()));
-    }
-
-    private boolean isGoodEffectCompatibleWithSlot(RaffleEffectId id, EquipmentSlot slot) {
-        if (id == null || slot == null) return false;
-
-        for (RafflePotionTable.Entry e : RafflePotionTable.entries()) {
-            if (e.id == id) {
-                return switch (e.slotRule) {
-                    case ANY_ARMOR -> true;
-                    case HELMET_ONLY -> slot == EquipmentSlot.HEAD;
-                    case CHESTPLATE_ONLY -> slot == EquipmentSlot.CHEST;
-                    case LEGGINGS_ONLY -> slot == EquipmentSlot.LEGS;
-                    case BOOTS_ONLY -> slot == EquipmentSlot.FEET;
-                };
-            }
-        }
-        return true;
+        return pool.roll(targetSlot, hasCurse);
     }
 
     private static EquipmentSlot armorSlot(Material mat) {
@@ -166,54 +123,22 @@ public final class RaffleService {
         return null;
     }
 
-    private static boolean hasCurse(Map<RaffleEffectId, Integer> effects) {
-        for (RaffleEffectId id : effects.keySet()) {
-            if (id != null && id.isCurse()) return true;
-        }
-        return false;
-    }
-
     private static int readSlotsUsed(PersistentDataContainer pdc, int fallback) {
         Integer stored = pdc.get(RaffleKeys.SLOT_COUNT, PersistentDataType.INTEGER);
         return stored != null ? stored : fallback;
     }
 
-    private static Map<RaffleEffectId, Integer> readEffects(PersistentDataContainer pdc) {
-        String raw = pdc.get(RaffleKeys.EFFECTS, PersistentDataType.STRING);
-        Map<RaffleEffectId, Integer> out = new LinkedHashMap<>();
-        if (raw == null || raw.isBlank()) return out;
-
-        for (String part : raw.split(",")) {
-            String[] kv = part.trim().split(":");
-            if (kv.length != 2) continue;
-
-            RaffleEffectId id = RaffleEffectId.fromString(kv[0]);
-            if (id == null) continue;
-
-            int lvl;
-            try { lvl = Integer.parseInt(kv[1]); }
-            catch (NumberFormatException e) { lvl = 1; }
-
-            if (id.isCurse() || !id.canLevel()) lvl = 1;
-            out.put(id, Math.max(1, lvl));
-        }
+    private static EffectVector readEffects(PersistentDataContainer pdc) {
+        EffectVector out = new EffectVector();
+        RaffleEffectCodec.read(pdc, out);
         return out;
     }
 
-    private static void writeEffects(PersistentDataContainer pdc, Map<RaffleEffectId, Integer> effects) {
-        if (effects == null || effects.isEmpty()) {
-            pdc.remove(RaffleKeys.EFFECTS);
-            return;
-        }
-
-        StringBuilder sb = new StringBuilder();
-        boolean first = true;
-        for (Map.Entry<RaffleEffectId, Integer> e : effects.entrySet()) {
-            if (!first) sb.append(",");
-            sb.append(e.getKey().name()).append(":").append(Math.max(1, e.getValue()));
-            first = false;
-        }
-        pdc.set(RaffleKeys.EFFECTS, PersistentDataType.STRING, sb.toString());
+    /**
+     * Always writes the binary form, so legacy CSV items are upgraded on their next roll.
+     */
+    private static void writeEffects(PersistentDataContainer pdc, EffectVector effects) {
+        RaffleEffectCodec.write(pdc, effects);
     }
 
     private static boolean isArmor(Material m) {
@@ -1,16 +1,12 @@
 package com.orangeslices.bossencounters.raffle.effects;
 
-import com.orangeslices.bossencounters.raffle.RaffleEffectId;
-import com.orangeslices.bossencounters.raffle.RaffleKeys;
+import com.orangeslices.bossencounters.raffle.EffectVector;
+import com.orangeslices.bossencounters.raffle.RaffleEffectCodec;
+import io.papermc.paper.persistence.PersistentDataContainerView;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
-
-import java.util.EnumMap;
-import java.util.Map;
 
 /**
- * Reads and merges raffle effects stored in PDC.
+ * Reads and merges raffle effects stored in PDC (decoding lives in RaffleEffectCodec).
  *
  * Normalization rules:
  * - Unknown IDs are ignored
@@ -23,66 +19,27 @@ public final class RaffleEffectReader {
     private RaffleEffectReader() {}
 
     /**
-     * Reads effects from an item into a map.
+     * Reads effects from an item.
      */
-    public static Map<RaffleEffectId, Integer> readFromItem(ItemStack item) {
-        Map<RaffleEffectId, Integer> map = new EnumMap<>(RaffleEffectId.class);
-        if (item == null) return map;
-        if (item.getItemMeta() == null) return map;
-
-        PersistentDataContainer pdc = item.getItemMeta().getPersistentDataContainer();
-
-        // NOTE: key name is RaffleKeys.EFFECTS (not RAFFLE_EFFECTS)
-        String raw = pdc.get(RaffleKeys.EFFECTS, PersistentDataType.STRING);
-        if (raw == null || raw.isBlank()) return map;
-
-        String[] parts = raw.split(",");
-        for (String part : parts) {
-            String[] kv = part.split(":");
-            if (kv.length != 2) continue;
-
-            RaffleEffectId id = RaffleEffectId.fromString(kv[0]);
-            if (id == null) continue;
-
-            int level;
-            try {
-                level = Integer.parseInt(kv[1]);
-            } catch (NumberFormatException ex) {
-                continue;
-            }
-
-            if (level <= 0) continue;
-
-            // Clamp non-leveling effects
-            if (!id.canLevel()) {
-                level = 1;
-            }
-
-            map.merge(id, level, Math::max);
-        }
+    public static EffectVector readFromItem(ItemStack item) {
+        if (item == null || item.isEmpty()) return new EffectVector();
+        return readFrom(item.getPersistentDataContainer());
+    }
 
-        return map;
+    /**
+     * Reads effects from an item's PDC (read-only view, so no ItemMeta copy is needed).
+     */
+    public static EffectVector readFrom(PersistentDataContainerView pdc) {
+        EffectVector out = new EffectVector();
+        if (pdc != null) RaffleEffectCodec.read(pdc, out);
+        return out;
     }
 
     /**
      * Merges source into target, keeping highest level per effect.
      */
-    public static void mergeHighest(
-            Map<RaffleEffectId, Integer> target,
-            Map<RaffleEffectId, Integer> source
-    ) {
+    public static void mergeHighest(EffectVector target, EffectVector source) {
         if (source == null || target == null) return;
-
-        for (Map.Entry<RaffleEffectId, Integer> e : source.entrySet()) {
-            RaffleEffectId id = e.getKey();
-            int level = e.getValue();
-            if (level <= 0) continue;
-
-            if (!id.canLevel()) {
-                level = 1;
-            }
-
-            target.merge(id, level, Math::max);
-        }
+        target.mergeHighest(source);
     }
 }
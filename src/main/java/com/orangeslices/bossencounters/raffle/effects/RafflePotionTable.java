@@ -1,22 +1,36 @@
 package com.orangeslices.bossencounters.raffle.effects;
 
 import com.orangeslices.bossencounters.raffle.RaffleEffectId;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.potion.PotionEffectType;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 public final class RafflePotionTable {
 
     private RafflePotionTable() {}
 
     public enum SlotRule {
-        ANY_ARMOR,
-        HELMET_ONLY,
-        CHESTPLATE_ONLY,
-        LEGGINGS_ONLY,
-        BOOTS_ONLY
+        ANY_ARMOR(null),
+        HELMET_ONLY(EquipmentSlot.HEAD),
+        CHESTPLATE_ONLY(EquipmentSlot.CHEST),
+        LEGGINGS_ONLY(EquipmentSlot.LEGS),
+        BOOTS_ONLY(EquipmentSlot.FEET);
+
+        /** The one armor slot this rule allows, or null for any armor. */
+        public final EquipmentSlot slot;
+
+        SlotRule(EquipmentSlot slot) {
+            this.slot = slot;
+        }
+
+        public boolean allows(EquipmentSlot armorSlot) {
+            return slot == null ? armorSlotIndex(armorSlot) >= 0 : slot == armorSlot;
+        }
     }
 
     public static final class Entry {
@@ -41,10 +55,26 @@ public final class RafflePotionTable {
         }
     }
 
+    // armor slot index order (see armorSlotIndex)
+    private static final EquipmentSlot[] ARMOR_SLOTS = {
+            EquipmentSlot.HEAD, EquipmentSlot.CHEST, EquipmentSlot.LEGS, EquipmentSlot.FEET
+    };
+
     private static final List<Entry> ENTRIES;
+
+    // Indexes, built once from ENTRIES
+    private static final Map<RaffleEffectId, Entry> BY_ID;
+    private static final List<List<Entry>> BY_SLOT;  // armor slot index -> entries allowed there
+    private static final long[] SLOT_MASK;           // armor slot index -> RaffleEffectId ordinal bits
+    private static final int SHORTEST_DURATION_TICKS;
+
     static {
         List<Entry> list = new ArrayList<>();
 
+        // Durations outlast two keep-alive periods plus PotionArbiter's slack (> 90 ticks
+        // at the default 40), so a held effect is re-sent at most every other keep-alive;
+        // unequipping removes it right away, so long durations don't linger.
+
         // -------------------------
         // GOOD (levelable)
         // -------------------------
@@ -60,7 +90,7 @@ public final class RafflePotionTable {
                 RaffleEffectId.IRON_WILL,
                 PotionEffectType.RESISTANCE,
                 SlotRule.CHESTPLATE_ONLY,
-                80,
+                120,
                 true
         ));
 
@@ -68,7 +98,7 @@ public final class RafflePotionTable {
                 RaffleEffectId.BLOOD_MENDING,
                 PotionEffectType.REGENERATION,
                 SlotRule.LEGGINGS_ONLY,
-                60,
+                120,
                 true
         ));
 
@@ -111,7 +141,7 @@ public final class RafflePotionTable {
                 RaffleEffectId.OCEAN_GRACE,
                 PotionEffectType.DOLPHINS_GRACE,
                 SlotRule.BOOTS_ONLY,
-                80,
+                120,
                 false
         ));
 
@@ -124,9 +154,93 @@ public final class RafflePotionTable {
         ));
 
         ENTRIES = Collections.unmodifiableList(list);
+
+        // -------------------------
+        // Indexes
+        // -------------------------
+        if (RaffleEffectId.values().length > Long.SIZE) {
+            throw new IllegalStateException("Slot masks hold at most 64 raffle effects.");
+        }
+
+        Map<RaffleEffectId, Entry> byId = new EnumMap<>(RaffleEffectId.class);
+        for (Entry e : list) byId.put(e.id, e);
+        BY_ID = Collections.unmodifiableMap(byId);
+
+        List<List<Entry>> bySlot = new ArrayList<>(ARMOR_SLOTS.length);
+        SLOT_MASK = new long[ARMOR_SLOTS.length];
+        for (int i = 0; i < ARMOR_SLOTS.length; i++) {
+            List<Entry> allowed = new ArrayList<>();
+            for (Entry e : list) {
+                if (e.slotRule.allows(ARMOR_SLOTS[i])) allowed.add(e);
+            }
+            bySlot.add(List.copyOf(allowed));
+
+            // effects without a table entry (custom curses) fit any armor
+            long mask = 0L;
+            for (RaffleEffectId id : RaffleEffectId.values()) {
+                Entry e = byId.get(id);
+                if (e == null || e.slotRule.allows(ARMOR_SLOTS[i])) mask |= 1L << id.ordinal();
+            }
+            SLOT_MASK[i] = mask;
+        }
+        BY_SLOT = List.copyOf(bySlot);
+
+        int shortest = Integer.MAX_VALUE;
+        for (Entry e : list) shortest = Math.min(shortest, e.durationTicks);
+        SHORTEST_DURATION_TICKS = shortest;
     }
 
     public static List<Entry> entries() {
         return ENTRIES;
     }
+
+    /**
+     * Shortest potion duration in the table (bounds the keep-alive period).
+     */
+    public static int shortestDurationTicks() {
+        return SHORTEST_DURATION_TICKS;
+    }
+
+    /**
+     * Potion entry for an effect, or null (custom / curse effects have none).
+     */
+    public static Entry byId(RaffleEffectId id) {
+        return id == null ? null : BY_ID.get(id);
+    }
+
+    /**
+     * Entries that can apply from this armor slot (ANY_ARMOR + that slot's own); empty for
+     * non-armor slots.
+     */
+    public static List<Entry> entriesFor(EquipmentSlot slot) {
+        int i = armorSlotIndex(slot);
+        return i < 0 ? List.of() : BY_SLOT.get(i);
+    }
+
+    /**
+     * Bits (by RaffleEffectId ordinal) of every effect allowed on this armor slot;
+     * 0 for non-armor slots.
+     */
+    public static long slotMask(EquipmentSlot slot) {
+        int i = armorSlotIndex(slot);
+        return i < 0 ? 0L : SLOT_MASK[i];
+    }
+
+    public static boolean isCompatible(RaffleEffectId id, EquipmentSlot slot) {
+        return id != null && (slotMask(slot) & (1L << id.ordinal())) != 0L;
+    }
+
+    /**
+     * 0..3 for HEAD, CHEST, LEGS, FEET; -1 for anything else.
+     */
+    public static int armorSlotIndex(EquipmentSlot slot) {
+        if (slot == null) return -1;
+        return switch (slot) {
+            case HEAD -> 0;
+            case CHEST -> 1;
+            case LEGS -> 2;
+            case FEET -> 3;
+            default -> -1;
+        };
+    }
 }
@@ -1,16 +1,15 @@
 package com.orangeslices.bossencounters.raffle.effects.custom;
 
+import com.orangeslices.bossencounters.TimingWheel;
 import com.orangeslices.bossencounters.raffle.RaffleEffectId;
-import org.bukkit.Bukkit;
+import com.orangeslices.bossencounters.scheduler.TaskScheduler;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 
 public final class DreadEffect implements RaffleCustomEffect {
@@ -19,8 +18,16 @@ public final class DreadEffect implements RaffleCustomEffect {
     private static final int LIGHTNING_COUNT_MIN = 1;
     private static final int LIGHTNING_COUNT_MAX = 2;
 
-    private final Map<UUID, WeatherSnapshot> previousWeather = new HashMap<>();
-    private final Map<UUID, BukkitTask> revertTasks = new HashMap<>();
+    private final TimingWheel wheel;
+    private final TaskScheduler scheduler;
+
+    private final Map<UUID, WeatherSnapshot> previousWeather = new ConcurrentHashMap<>();
+    private final Map<UUID, TimingWheel.Timer> revertTimers = new ConcurrentHashMap<>();
+
+    public DreadEffect(TimingWheel wheel, TaskScheduler scheduler) {
+        this.wheel = wheel;
+        this.scheduler = scheduler;
+    }
 
     @Override
     public RaffleEffectId getId() {
@@ -32,22 +39,25 @@ public final class DreadEffect implements RaffleCustomEffect {
         if (player == null || !player.isOnline()) return;
 
         UUID id = player.getUniqueId();
-        if (previousWeather.containsKey(id)) return; // one-time trigger
+        if (revertTimers.containsKey(id)) return; // one-time trigger
 
-        JavaPlugin plugin = JavaPlugin.getProvidingPlugin(getClass());
         World world = player.getWorld();
 
-        // Save previous weather state
-        previousWeather.put(id, new WeatherSnapshot(
-                world.hasStorm(),
-                world.isThundering(),
-                world.getWeatherDuration()
-        ));
-
-        // Force storm + thunder
-        world.setStorm(true);
-        world.setThundering(true);
-        world.setWeatherDuration(DURATION_TICKS);
+        // Weather is world state (global region on Folia)
+        scheduler.runGlobal(() -> {
+            // Save previous weather state
+            previousWeather.put(id, new WeatherSnapshot(
+                    world,
+                    world.hasStorm(),
+                    world.isThundering(),
+                    world.getWeatherDuration()
+            ));
+
+            // Force storm + thunder
+            world.setStorm(true);
+            world.setThundering(true);
+            world.setWeatherDuration(DURATION_TICKS);
+        });
 
         // Schedule visual-only lightning near the player
         int strikes = ThreadLocalRandom.current()
@@ -55,7 +65,7 @@ public final class DreadEffect implements RaffleCustomEffect {
 
         for (int i = 0; i < strikes; i++) {
             int delay = ThreadLocalRandom.current().nextInt(20, DURATION_TICKS - 20);
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            wheel.schedule(player, delay, () -> {
                 if (!player.isOnline()) return;
 
                 Location base = player.getLocation();
@@ -66,23 +76,16 @@ public final class DreadEffect implements RaffleCustomEffect {
 
                 Location strikeLoc = base.clone().add(offsetX, 0, offsetZ);
                 world.strikeLightningEffect(strikeLoc); // VISUAL ONLY
-            }, delay);
+            });
         }
 
         // Revert weather after duration
-        BukkitTask revert = Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            WeatherSnapshot snap = previousWeather.remove(id);
-            if (snap != null) {
-                world.setStorm(snap.storm);
-                world.setThundering(snap.thundering);
-                world.setWeatherDuration(snap.duration);
-            }
-
-            BukkitTask t = revertTasks.remove(id);
-            if (t != null) t.cancel();
-        }, DURATION_TICKS);
-
-        revertTasks.put(id, revert);
+        TimingWheel.Timer revert = wheel.schedule(player, DURATION_TICKS, () -> {
+            revertTimers.remove(id);
+            scheduler.runGlobal(() -> restoreWeather(id));
+        });
+
+        revertTimers.put(id, revert);
     }
 
     @Override
@@ -90,18 +93,20 @@ public final class DreadEffect implements RaffleCustomEffect {
         if (player == null) return;
 
         UUID id = player.getUniqueId();
-        World world = player.getWorld();
+        scheduler.runGlobal(() -> restoreWeather(id));
 
+        TimingWheel.Timer t = revertTimers.remove(id);
+        if (t != null) t.cancel();
+    }
+
+    private void restoreWeather(UUID id) {
         WeatherSnapshot snap = previousWeather.remove(id);
         if (snap != null) {
-            world.setStorm(snap.storm);
-            world.setThundering(snap.thundering);
-            world.setWeatherDuration(snap.duration);
+            snap.world.setStorm(snap.storm);
+            snap.world.setThundering(snap.thundering);
+            snap.world.setWeatherDuration(snap.duration);
         }
-
-        BukkitTask t = revertTasks.remove(id);
-        if (t != null) t.cancel();
     }
 
-    private record WeatherSnapshot(boolean storm, boolean thundering, int duration) {}
+    private record WeatherSnapshot(World world, boolean storm, boolean thundering, int duration) {}
 }
@@ -1,25 +1,30 @@
 package com.orangeslices.bossencounters.raffle.effects.custom;
 
+import com.orangeslices.bossencounters.TimingWheel;
 import com.orangeslices.bossencounters.raffle.RaffleEffectId;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class EchoesEffect implements RaffleCustomEffect {
 
     private static final int RUN_TICKS = 20 * 10; // ~10s
     private static final int PERIOD_TICKS = 20;   // 1s
 
+    private final TimingWheel wheel;
+
     private final Random rng = new Random();
-    private final Map<UUID, BukkitTask> tasks = new HashMap<>();
+    private final Map<UUID, Session> sessions = new ConcurrentHashMap<>();
+
+    public EchoesEffect(TimingWheel wheel) {
+        this.wheel = wheel;
+    }
 
     @Override
     public RaffleEffectId getId() {
@@ -31,12 +36,11 @@ public final class EchoesEffect implements RaffleCustomEffect {
         if (player == null || !player.isOnline()) return;
 
         // already running for this equip session
-        if (tasks.containsKey(player.getUniqueId())) return;
+        if (sessions.containsKey(player.getUniqueId())) return;
 
-        JavaPlugin plugin = JavaPlugin.getProvidingPlugin(getClass());
         UUID id = player.getUniqueId();
 
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+        TimingWheel.Timer sounds = wheel.scheduleRepeating(player, 1L, PERIOD_TICKS, () -> {
             Player p = Bukkit.getPlayer(id);
             if (p == null || !p.isOnline()) {
                 clear(player);
@@ -55,21 +59,26 @@ public final class EchoesEffect implements RaffleCustomEffect {
             };
 
             p.getWorld().playSound(loc, s, 0.35f, 0.9f);
-        }, 0L, PERIOD_TICKS);
-
-        tasks.put(id, task);
+        });
 
         // auto-stop after duration
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        TimingWheel.Timer stop = wheel.schedule(player, RUN_TICKS, () -> {
             Player p = Bukkit.getPlayer(id);
             if (p != null) clear(p);
-        }, RUN_TICKS);
+        });
+
+        sessions.put(id, new Session(sounds, stop));
     }
 
     @Override
     public void clear(Player player) {
         if (player == null) return;
-        BukkitTask t = tasks.remove(player.getUniqueId());
-        if (t != null) t.cancel();
+        Session s = sessions.remove(player.getUniqueId());
+        if (s != null) {
+            s.sounds.cancel();
+            s.stop.cancel();
+        }
     }
+
+    private record Session(TimingWheel.Timer sounds, TimingWheel.Timer stop) {}
 }
@@ -1,7 +1,7 @@
 package com.orangeslices.bossencounters.raffle.effects.custom;
 
+import com.orangeslices.bossencounters.TimingWheel;
 import com.orangeslices.bossencounters.raffle.RaffleEffectId;
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.Sound;
@@ -12,22 +12,26 @@ import org.bukkit.entity.Zoglin;
 import org.bukkit.inventory.EntityEquipment;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class MatadorEffect implements RaffleCustomEffect {
 
     private static final int DESPAWN_TICKS = 20 * 12; // ~12 seconds
     private static final int KNOCKBACK_LEVEL = 3;
 
-    private final Map<UUID, Entity> spawned = new HashMap<>();
-    private final Map<UUID, BukkitTask> despawnTasks = new HashMap<>();
+    private final TimingWheel wheel;
+
+    private final Map<UUID, Entity> spawned = new ConcurrentHashMap<>();
+    private final Map<UUID, TimingWheel.Timer> despawnTimers = new ConcurrentHashMap<>();
+
+    public MatadorEffect(TimingWheel wheel) {
+        this.wheel = wheel;
+    }
 
     @Override
     public RaffleEffectId getId() {
@@ -43,8 +47,6 @@ public final class MatadorEffect implements RaffleCustomEffect {
         // Ensure one-time trigger while armor is worn
         if (spawned.containsKey(id)) return;
 
-        JavaPlugin plugin = JavaPlugin.getProvidingPlugin(getClass());
-
         Zoglin bull = player.getWorld().spawn(
                 player.getLocation().add(2, 0, 2),
                 Zoglin.class,
@@ -81,15 +83,14 @@ public final class MatadorEffect implements RaffleCustomEffect {
 
         spawned.put(id, bull);
 
-        BukkitTask despawn = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        TimingWheel.Timer despawn = wheel.schedule(player, DESPAWN_TICKS, () -> {
+            despawnTimers.remove(id);
+
             Entity e = spawned.remove(id);
             if (e != null && e.isValid()) e.remove();
+        });
 
-            BukkitTask t = despawnTasks.remove(id);
-            if (t != null) t.cancel();
-        }, DESPAWN_TICKS);
-
-        despawnTasks.put(id, despawn);
+        despawnTimers.put(id, despawn);
     }
 
     @Override
@@ -98,7 +99,7 @@ public final class MatadorEffect implements RaffleCustomEffect {
 
         UUID id = player.getUniqueId();
 
-        BukkitTask t = despawnTasks.remove(id);
+        TimingWheel.Timer t = despawnTimers.remove(id);
         if (t != null) t.cancel();
 
         Entity e = spawned.remove(id);
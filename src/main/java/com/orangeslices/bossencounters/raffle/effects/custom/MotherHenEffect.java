@@ -1,17 +1,16 @@
 package com.orangeslices.bossencounters.raffle.effects.custom;
 
+import com.orangeslices.bossencounters.TimingWheel;
 import com.orangeslices.bossencounters.raffle.RaffleEffectId;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Sound;
 import org.bukkit.entity.Chicken;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class MotherHenEffect implements RaffleCustomEffect {
 
@@ -24,10 +23,16 @@ public final class MotherHenEffect implements RaffleCustomEffect {
     private static final double TELEPORT_IF_FAR = 10.0;
     private static final double STOP_DISTANCE = 1.6;
 
-    private final Map<UUID, List<Entity>> spawned = new HashMap<>();
-    private final Map<UUID, BukkitTask> despawnTasks = new HashMap<>();
-    private final Map<UUID, BukkitTask> followTasks = new HashMap<>();
-    private final Map<UUID, BukkitTask> spawnTasks = new HashMap<>();
+    private final TimingWheel wheel;
+
+    private final Map<UUID, List<Entity>> spawned = new ConcurrentHashMap<>();
+    private final Map<UUID, TimingWheel.Timer> despawnTimers = new ConcurrentHashMap<>();
+    private final Map<UUID, TimingWheel.Timer> followTimers = new ConcurrentHashMap<>();
+    private final Map<UUID, TimingWheel.Timer> spawnTimers = new ConcurrentHashMap<>();
+
+    public MotherHenEffect(TimingWheel wheel) {
+        this.wheel = wheel;
+    }
 
     @Override
     public RaffleEffectId getId() {
@@ -41,21 +46,19 @@ public final class MotherHenEffect implements RaffleCustomEffect {
         UUID id = player.getUniqueId();
         if (spawned.containsKey(id)) return;
 
-        JavaPlugin plugin = JavaPlugin.getProvidingPlugin(getClass());
-
         List<Entity> list = new ArrayList<>();
         spawned.put(id, list);
 
         player.getWorld().playSound(player.getLocation(),
                 Sound.ENTITY_CHICKEN_AMBIENT, 0.6f, 1.2f);
 
-        BukkitTask spawnTask = Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
+        TimingWheel.Timer spawnTimer = wheel.scheduleRepeating(player, 1L, SPAWN_INTERVAL_TICKS, new Runnable() {
             int i = 0;
 
             @Override
             public void run() {
                 if (!player.isOnline() || i >= COUNT) {
-                    BukkitTask t = spawnTasks.remove(id);
+                    TimingWheel.Timer t = spawnTimers.remove(id);
                     if (t != null) t.cancel();
                     return;
                 }
@@ -79,11 +82,11 @@ public final class MotherHenEffect implements RaffleCustomEffect {
 
                 i++;
             }
-        }, 0L, SPAWN_INTERVAL_TICKS);
+        });
 
-        spawnTasks.put(id, spawnTask);
+        spawnTimers.put(id, spawnTimer);
 
-        BukkitTask followTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+        TimingWheel.Timer followTimer = wheel.scheduleRepeating(player, 1L, FOLLOW_PERIOD_TICKS, () -> {
             if (!player.isOnline()) return;
 
             List<Entity> ents = spawned.get(id);
@@ -116,14 +119,13 @@ public final class MotherHenEffect implements RaffleCustomEffect {
                 vel.setY(chick.getVelocity().getY());
                 chick.setVelocity(vel);
             }
-        }, 0L, FOLLOW_PERIOD_TICKS);
+        });
 
-        followTasks.put(id, followTask);
+        followTimers.put(id, followTimer);
 
-        BukkitTask despawn = Bukkit.getScheduler().runTaskLater(plugin,
-                () -> cleanup(id), DESPAWN_TICKS);
+        TimingWheel.Timer despawn = wheel.schedule(player, DESPAWN_TICKS, () -> cleanup(id));
 
-        despawnTasks.put(id, despawn);
+        despawnTimers.put(id, despawn);
     }
 
     @Override
@@ -132,15 +134,15 @@ public final class MotherHenEffect implements RaffleCustomEffect {
     }
 
     private void cleanup(UUID id) {
-        BukkitTask t;
+        TimingWheel.Timer t;
 
-        t = spawnTasks.remove(id);
+        t = spawnTimers.remove(id);
         if (t != null) t.cancel();
 
-        t = followTasks.remove(id);
+        t = followTimers.remove(id);
         if (t != null) t.cancel();
 
-        t = despawnTasks.remove(id);
+        t = despawnTimers.remove(id);
         if (t != null) t.cancel();
 
         List<Entity> ents = spawned.remove(id);
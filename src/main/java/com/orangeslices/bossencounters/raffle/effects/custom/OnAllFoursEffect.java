@@ -1,20 +1,24 @@
 package com.orangeslices.bossencounters.raffle.effects.custom;
 
+import com.orangeslices.bossencounters.TimingWheel;
 import com.orangeslices.bossencounters.raffle.RaffleEffectId;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class OnAllFoursEffect implements RaffleCustomEffect {
 
     private static final int DURATION_TICKS = 20 * 6; // ~6s
 
-    private final Map<UUID, BukkitTask> revertTasks = new HashMap<>();
+    private final TimingWheel wheel;
+    private final Map<UUID, TimingWheel.Timer> revertTimers = new ConcurrentHashMap<>();
+
+    public OnAllFoursEffect(TimingWheel wheel) {
+        this.wheel = wheel;
+    }
 
     @Override
     public RaffleEffectId getId() {
@@ -26,21 +30,19 @@ public final class OnAllFoursEffect implements RaffleCustomEffect {
         if (player == null || !player.isOnline()) return;
 
         UUID id = player.getUniqueId();
-        if (revertTasks.containsKey(id)) return;
-
-        JavaPlugin plugin = JavaPlugin.getProvidingPlugin(getClass());
+        if (revertTimers.containsKey(id)) return;
 
         player.setSwimming(true);
 
-        BukkitTask revert = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        TimingWheel.Timer revert = wheel.schedule(player, DURATION_TICKS, () -> {
             Player p = Bukkit.getPlayer(id);
             if (p != null && p.isOnline()) {
                 p.setSwimming(false);
             }
-            revertTasks.remove(id);
-        }, DURATION_TICKS);
+            revertTimers.remove(id);
+        });
 
-        revertTasks.put(id, revert);
+        revertTimers.put(id, revert);
     }
 
     @Override
@@ -48,7 +50,7 @@ public final class OnAllFoursEffect implements RaffleCustomEffect {
         if (player == null) return;
 
         UUID id = player.getUniqueId();
-        BukkitTask t = revertTasks.remove(id);
+        TimingWheel.Timer t = revertTimers.remove(id);
         if (t != null) t.cancel();
 
         player.setSwimming(false);
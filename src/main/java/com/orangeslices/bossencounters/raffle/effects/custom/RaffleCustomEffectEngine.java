@@ -1,13 +1,14 @@
 package com.orangeslices.bossencounters.raffle.effects.custom;
 
 import com.orangeslices.bossencounters.BossEncountersPlugin;
+import com.orangeslices.bossencounters.EquipmentProfile;
+import com.orangeslices.bossencounters.EquipmentTracker;
+import com.orangeslices.bossencounters.raffle.EffectVector;
 import com.orangeslices.bossencounters.raffle.RaffleEffectId;
-import com.orangeslices.bossencounters.raffle.effects.RaffleEffectReader;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Engine for NON-potion raffle effects (curses & custom mechanics).
@@ -16,17 +17,17 @@ import java.util.*;
  * - GOOD custom effects (future) may apply repeatedly if desired
  * - CURSES trigger ONCE when they become active
  * - clear() is called when the effect disappears
+ * - levels come from the shared EquipmentProfile, rebuilt only on equipment change
  */
-public final class RaffleCustomEffectEngine {
+public final class RaffleCustomEffectEngine implements EquipmentTracker.Subscriber {
 
     private final BossEncountersPlugin plugin;
-    private BukkitTask task;
 
     // Registered custom effects (permanent registry)
     private final Map<RaffleEffectId, RaffleCustomEffect> registry = new HashMap<>();
 
     // Tracks which effects are currently active per player
-    private final Map<UUID, Set<RaffleEffectId>> activeByPlayer = new HashMap<>();
+    private final Map<UUID, Set<RaffleEffectId>> activeByPlayer = new ConcurrentHashMap<>();
 
     public RaffleCustomEffectEngine(BossEncountersPlugin plugin) {
         this.plugin = plugin;
@@ -35,17 +36,17 @@ public final class RaffleCustomEffectEngine {
 
     private void registerDefaults() {
         register(new TerrorEffect());
-        register(new DreadEffect());
+        register(new DreadEffect(plugin.timingWheel(), plugin.scheduler()));
 
         // BENCHED:
         // register(new MisstepEffect());
         // register(new UneaseEffect());
 
-        register(new EchoesEffect());
+        register(new EchoesEffect(plugin.timingWheel()));
         register(new DisarrayEffect());
-        register(new OnAllFoursEffect());
-        register(new MatadorEffect());
-        register(new MotherHenEffect());
+        register(new OnAllFoursEffect(plugin.timingWheel()));
+        register(new MatadorEffect(plugin.timingWheel()));
+        register(new MotherHenEffect(plugin.timingWheel()));
         register(new ReductionEffect());
     }
 
@@ -56,18 +57,11 @@ public final class RaffleCustomEffectEngine {
 
     public void start() {
         stop();
-
-        task = plugin.getServer().getScheduler().runTaskTimer(
-                plugin,
-                () -> plugin.getServer().getOnlinePlayers().forEach(this::refreshPlayer),
-                20L,
-                40L
-        );
+        plugin.equipmentTracker().subscribe(this);
     }
 
     public void stop() {
-        if (task != null) task.cancel();
-        task = null;
+        plugin.equipmentTracker().unsubscribe(this);
 
         // Cleanup all active effects
         for (Map.Entry<UUID, Set<RaffleEffectId>> entry : activeByPlayer.entrySet()) {
@@ -85,29 +79,24 @@ public final class RaffleCustomEffectEngine {
         activeByPlayer.clear();
     }
 
-    private void refreshPlayer(Player player) {
+    /**
+     * Only equipment changes can activate/deactivate effects, so there is no keep-alive.
+     * Active sets survive quit so curses don't re-trigger on rejoin.
+     */
+    @Override
+    public void onEquipmentChanged(Player player, EquipmentProfile profile) {
         if (player == null || !player.isOnline()) return;
 
         UUID uuid = player.getUniqueId();
 
-        // 1) Read highest levels across armor
-        Map<RaffleEffectId, Integer> highest = new HashMap<>();
-        mergeArmor(highest, player.getInventory().getHelmet());
-        mergeArmor(highest, player.getInventory().getChestplate());
-        mergeArmor(highest, player.getInventory().getLeggings());
-        mergeArmor(highest, player.getInventory().getBoots());
+        // 1) Highest levels across armor (shared profile)
+        EffectVector highest = profile.raffleEffects();
 
         // 2) Determine which custom effects should be active now
-        Set<RaffleEffectId> nowActive = new HashSet<>();
-        for (Map.Entry<RaffleEffectId, Integer> e : highest.entrySet()) {
-            RaffleEffectId id = e.getKey();
-            int level = e.getValue();
-
-            if (level <= 0) continue;
-            if (!registry.containsKey(id)) continue;
-
-            nowActive.add(id);
-        }
+        Set<RaffleEffectId> nowActive = EnumSet.noneOf(RaffleEffectId.class);
+        highest.forEach((id, level) -> {
+            if (registry.containsKey(id)) nowActive.add(id);
+        });
 
         Set<RaffleEffectId> prev = activeByPlayer.getOrDefault(uuid, Collections.emptySet());
 
@@ -118,7 +107,7 @@ public final class RaffleCustomEffectEngine {
             RaffleCustomEffect effect = registry.get(id);
             if (effect == null) continue;
 
-            int level = highest.getOrDefault(id, 1);
+            int level = Math.max(1, highest.get(id));
 
             // CURSES trigger once
             effect.apply(player, level);
@@ -136,10 +125,4 @@ public final class RaffleCustomEffectEngine {
 
         activeByPlayer.put(uuid, nowActive);
     }
-
-    private void mergeArmor(Map<RaffleEffectId, Integer> into, ItemStack armor) {
-        if (armor == null) return;
-        Map<RaffleEffectId, Integer> map = RaffleEffectReader.readFromItem(armor);
-        RaffleEffectReader.mergeHighest(into, map);
-    }
 }
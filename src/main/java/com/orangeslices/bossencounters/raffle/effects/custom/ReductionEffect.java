@@ -5,15 +5,15 @@ import org.bukkit.attribute.Attribute;
 import org.bukkit.attribute.AttributeInstance;
 import org.bukkit.entity.Player;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class ReductionEffect implements RaffleCustomEffect {
 
     private static final double REDUCED_SCALE = 0.55;
 
-    private final Map<UUID, Double> originalScale = new HashMap<>();
+    private final Map<UUID, Double> originalScale = new ConcurrentHashMap<>();
 
     @Override
     public RaffleEffectId getId() {
@@ -6,9 +6,9 @@ import org.bukkit.entity.Player;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * TERROR curse
@@ -28,7 +28,7 @@ public final class TerrorEffect implements RaffleCustomEffect {
     private static final int DARKNESS_DURATION_TICKS = 200; // 10 seconds
     private static final long ROAR_COOLDOWN_MS = 8000;
 
-    private final Map<UUID, Long> lastRoar = new HashMap<>();
+    private final Map<UUID, Long> lastRoar = new ConcurrentHashMap<>();
 
     @Override
     public RaffleEffectId getId() {
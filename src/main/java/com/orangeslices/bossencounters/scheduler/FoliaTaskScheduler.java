@@ -0,0 +1,77 @@
+package com.orangeslices.bossencounters.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Folia: global region scheduler for plugin-wide work, region scheduler for locations,
+ * entity schedulers for anything bound to an entity. Folia rejects delays below 1 tick.
+ */
+final class FoliaTaskScheduler implements TaskScheduler {
+
+    private static final Task NOOP = () -> {};
+
+    private final Plugin plugin;
+
+    FoliaTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean regionised() {
+        return true;
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        if (Bukkit.isGlobalTickThread()) task.run();
+        else Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+    }
+
+    @Override
+    public Task runGlobalLater(Runnable task, long delayTicks) {
+        return wrap(Bukkit.getGlobalRegionScheduler().runDelayed(plugin, t -> task.run(), delay(delayTicks)));
+    }
+
+    @Override
+    public Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return wrap(Bukkit.getGlobalRegionScheduler().runAtFixedRate(
+                plugin, t -> task.run(), delay(delayTicks), delay(periodTicks)));
+    }
+
+    @Override
+    public void runAt(Location location, Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(location)) task.run();
+        else Bukkit.getRegionScheduler().execute(plugin, location, task);
+    }
+
+    @Override
+    public void runFor(Entity entity, Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(entity)) task.run();
+        else entity.getScheduler().execute(plugin, task, null, 1L);
+    }
+
+    @Override
+    public Task runForLater(Entity entity, Runnable task, long delayTicks) {
+        // retired callback: the entity left (quit / removed), run the clean-up anyway
+        return wrap(entity.getScheduler().runDelayed(plugin, t -> task.run(), task, delay(delayTicks)));
+    }
+
+    @Override
+    public Task runForTimer(Entity entity, Runnable task, long delayTicks, long periodTicks) {
+        return wrap(entity.getScheduler().runAtFixedRate(
+                plugin, t -> task.run(), null, delay(delayTicks), delay(periodTicks)));
+    }
+
+    private static long delay(long ticks) {
+        return Math.max(1L, ticks);
+    }
+
+    private static Task wrap(ScheduledTask task) {
+        // null: the entity was already removed
+        return task == null ? NOOP : task::cancel;
+    }
+}
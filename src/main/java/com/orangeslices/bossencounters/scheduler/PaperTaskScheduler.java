@@ -0,0 +1,68 @@
+package com.orangeslices.bossencounters.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Single main thread: global, region and entity tasks are all plain BukkitScheduler
+ * tasks.
+ */
+final class PaperTaskScheduler implements TaskScheduler {
+
+    private final Plugin plugin;
+    private final BukkitScheduler scheduler;
+
+    PaperTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+        this.scheduler = plugin.getServer().getScheduler();
+    }
+
+    @Override
+    public boolean regionised() {
+        return false;
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        if (Bukkit.isPrimaryThread()) task.run();
+        else scheduler.runTask(plugin, task);
+    }
+
+    @Override
+    public Task runGlobalLater(Runnable task, long delayTicks) {
+        return wrap(scheduler.runTaskLater(plugin, task, delayTicks));
+    }
+
+    @Override
+    public Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return wrap(scheduler.runTaskTimer(plugin, task, delayTicks, periodTicks));
+    }
+
+    @Override
+    public void runAt(Location location, Runnable task) {
+        runGlobal(task);
+    }
+
+    @Override
+    public void runFor(Entity entity, Runnable task) {
+        runGlobal(task);
+    }
+
+    @Override
+    public Task runForLater(Entity entity, Runnable task, long delayTicks) {
+        return runGlobalLater(task, delayTicks);
+    }
+
+    @Override
+    public Task runForTimer(Entity entity, Runnable task, long delayTicks, long periodTicks) {
+        return runGlobalTimer(task, delayTicks, periodTicks);
+    }
+
+    private static Task wrap(BukkitTask task) {
+        return task::cancel;
+    }
+}
@@ -0,0 +1,77 @@
+package com.orangeslices.bossencounters.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Where plugin work runs, independent of the server's threading model.
+ *
+ * Paper has one main thread, so every variant below ends up there. Folia has no main
+ * thread: global work (weather, timers over all players / bosses) runs on the global
+ * region, and anything touching an entity or block must run on the region that owns
+ * it. Code that reads or changes an entity goes through the entity methods;
+ * plugin-wide timers use the global ones.
+ */
+public interface TaskScheduler {
+
+    /**
+     * Cancellable handle.
+     */
+    interface Task {
+        void cancel();
+    }
+
+    static TaskScheduler create(Plugin plugin) {
+        return isFolia() ? new FoliaTaskScheduler(plugin) : new PaperTaskScheduler(plugin);
+    }
+
+    static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /** True when running on Folia (regionised threads). */
+    boolean regionised();
+
+    /* -------------------------
+       Global
+       ------------------------- */
+
+    /** Run on the global thread; inline if already there. */
+    void runGlobal(Runnable task);
+
+    Task runGlobalLater(Runnable task, long delayTicks);
+
+    Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /* -------------------------
+       Region (location)
+       ------------------------- */
+
+    /** Run on the thread owning this location (world FX etc.); inline if already there. */
+    void runAt(Location location, Runnable task);
+
+    /* -------------------------
+       Entity
+       ------------------------- */
+
+    /**
+     * Run on the thread owning this entity; inline if already there. On Folia the task is
+     * dropped if the entity is removed first.
+     */
+    void runFor(Entity entity, Runnable task);
+
+    /**
+     * One-shot bound to the entity. On Folia it still runs (on removal) if the entity is
+     * removed before the delay, so clean-up tasks are never lost.
+     */
+    Task runForLater(Entity entity, Runnable task, long delayTicks);
+
+    /** Repeating, bound to the entity; stops with it on Folia. */
+    Task runForTimer(Entity entity, Runnable task, long delayTicks, long periodTicks);
+}
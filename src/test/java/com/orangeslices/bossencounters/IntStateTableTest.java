@@ -0,0 +1,117 @@
+package com.orangeslices.bossencounters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * BossRegistry's open-addressing table: linear probing with backward-shift deletion,
+ * checked against a HashMap.
+ */
+class IntStateTableTest {
+
+    @Test
+    void putGetOverwrite() {
+        BossRegistry.IntStateTable table = new BossRegistry.IntStateTable(4);
+        BossState a = state(7);
+        BossState b = state(7);
+
+        table.put(7, a);
+        assertSame(a, table.get(7));
+
+        table.put(7, b);
+        assertSame(b, table.get(7));
+        assertEquals(1, table.size());
+        assertNull(table.get(8));
+    }
+
+    @Test
+    void zeroAndNegativeKeysAreValid() {
+        BossRegistry.IntStateTable table = new BossRegistry.IntStateTable(4);
+        table.put(0, state(0));
+        table.put(-1, state(-1));
+        table.put(Integer.MIN_VALUE, state(Integer.MIN_VALUE));
+
+        assertEquals(0, table.get(0).entityId);
+        assertEquals(-1, table.get(-1).entityId);
+        assertEquals(Integer.MIN_VALUE, table.get(Integer.MIN_VALUE).entityId);
+
+        table.remove(0);
+        assertNull(table.get(0));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void growKeepsEveryEntry() {
+        BossRegistry.IntStateTable table = new BossRegistry.IntStateTable(4);
+        for (int i = 0; i < 5_000; i++) table.put(i * 31, state(i * 31));
+
+        assertEquals(5_000, table.size());
+        for (int i = 0; i < 5_000; i++) assertEquals(i * 31, table.get(i * 31).entityId);
+    }
+
+    @Test
+    void removeUnknownKeyIsNoOp() {
+        BossRegistry.IntStateTable table = new BossRegistry.IntStateTable(8);
+        table.put(1, state(1));
+        table.remove(2);
+        assertEquals(1, table.size());
+        assertEquals(1, table.get(1).entityId);
+    }
+
+    @Test
+    void copyIsIndependent() {
+        BossRegistry.IntStateTable table = new BossRegistry.IntStateTable(4);
+        table.put(1, state(1));
+
+        BossRegistry.IntStateTable copy = table.copy();
+        copy.remove(1);
+        for (int i = 2; i < 50; i++) copy.put(i, state(i));
+
+        assertEquals(1, table.size());
+        assertEquals(1, table.get(1).entityId);
+        assertNull(table.get(2));
+        assertNull(copy.get(1));
+        assertEquals(48, copy.size());
+    }
+
+    @Test
+    void randomOpsMatchHashMap() {
+        // a small key space keeps clusters long, so deletes shift across the wrap-around
+        SplittableRandom random = new SplittableRandom(42);
+        BossRegistry.IntStateTable table = new BossRegistry.IntStateTable(4);
+        Map<Integer, BossState> model = new HashMap<>();
+
+        for (int op = 0; op < 200_000; op++) {
+            int key = random.nextInt(300) - 150;
+            if (random.nextInt(3) == 0) {
+                table.remove(key);
+                model.remove(key);
+            } else {
+                BossState s = state(key);
+                table.put(key, s);
+                model.put(key, s);
+            }
+
+            if (op % 1_000 == 0) assertMatches(model, table);
+        }
+        assertMatches(model, table);
+    }
+
+    private static void assertMatches(Map<Integer, BossState> model, BossRegistry.IntStateTable table) {
+        assertEquals(model.size(), table.size());
+        for (int key = -150; key < 150; key++) {
+            assertSame(model.get(key), table.get(key), "key " + key);
+        }
+    }
+
+    private static BossState state(int entityId) {
+        return new BossState(entityId, null, null, null, 0L, null, 0, null, new long[0]);
+    }
+}
@@ -0,0 +1,205 @@
+package com.orangeslices.bossencounters;
+
+import com.orangeslices.bossencounters.scheduler.TaskScheduler;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Wheel timing on the Paper path, ticked by hand: every timer must fire on exactly its
+ * deadline tick, across cascades between levels and past the top-level horizon.
+ */
+class TimingWheelTest {
+
+    private final ManualScheduler scheduler = new ManualScheduler();
+    private final TimingWheel wheel = new TimingWheel(scheduler, Logger.getLogger("TimingWheelTest"));
+
+    TimingWheelTest() {
+        wheel.start();
+    }
+
+    @Test
+    void firesOnExactTickAcrossLevels() {
+        // level 0 = 256 ticks, each level above x64; include every boundary
+        long[] delays = {
+                1, 2, 255, 256, 257,
+                (1L << 14) - 1, 1L << 14, (1L << 14) + 1,
+                (1L << 20) - 1, 1L << 20, (1L << 20) + 1,
+                (1L << 20) + 12_345
+        };
+
+        long[] firedAt = new long[delays.length];
+        for (int i = 0; i < delays.length; i++) {
+            int idx = i;
+            wheel.schedule(null, delays[i], () -> firedAt[idx] = scheduler.now);
+        }
+        assertEquals(delays.length, wheel.size());
+
+        scheduler.advance(delays[delays.length - 1]);
+
+        for (int i = 0; i < delays.length; i++) {
+            assertEquals(delays[i], firedAt[i], "delay " + delays[i]);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void beyondHorizonIsParkedAndStillExact() {
+        long delay = (1L << 26) + 1_000;
+        long[] firedAt = {-1};
+        wheel.schedule(null, delay, () -> firedAt[0] = scheduler.now);
+
+        scheduler.advance(delay);
+        assertEquals(delay, firedAt[0]);
+    }
+
+    @Test
+    void randomDeadlines() {
+        SplittableRandom random = new SplittableRandom(7);
+        int n = 3_000;
+        long[] delays = new long[n];
+        long[] firedAt = new long[n];
+        int[] fireCount = new int[n];
+
+        long max = 0;
+        for (int i = 0; i < n; i++) {
+            delays[i] = 1 + random.nextLong(1L << 21);
+            max = Math.max(max, delays[i]);
+            int idx = i;
+            wheel.schedule(null, delays[i], () -> {
+                firedAt[idx] = scheduler.now;
+                fireCount[idx]++;
+            });
+        }
+
+        scheduler.advance(max + 10);
+        for (int i = 0; i < n; i++) {
+            assertEquals(1, fireCount[i], "timer " + i);
+            assertEquals(delays[i], firedAt[i], "timer " + i);
+        }
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        SplittableRandom random = new SplittableRandom(11);
+        List<TimingWheel.Timer> timers = new ArrayList<>();
+        int[] fired = {0};
+
+        for (int i = 0; i < 1_000; i++) {
+            timers.add(wheel.schedule(null, 1 + random.nextInt(100_000), () -> fired[0]++));
+        }
+        for (int i = 0; i < timers.size(); i += 2) {
+            timers.get(i).cancel();
+            timers.get(i).cancel(); // twice is fine
+        }
+        assertEquals(500, wheel.size());
+
+        scheduler.advance(100_001);
+        assertEquals(500, fired[0]);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void repeatingRunsOnPeriodUntilCancelledFromInside() {
+        List<Long> runs = new ArrayList<>();
+        TimingWheel.Timer[] self = new TimingWheel.Timer[1];
+        self[0] = wheel.scheduleRepeating(null, 5, 300, () -> {
+            runs.add(scheduler.now);
+            if (runs.size() == 4) self[0].cancel();
+        });
+
+        scheduler.advance(5_000);
+        assertEquals(List.of(5L, 305L, 605L, 905L), runs);
+        assertTrue(self[0].isCancelled());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void scheduleFromCallbackAndClampedDelay() {
+        long[] second = {-1};
+        wheel.schedule(null, 0, () -> wheel.schedule(null, 1, () -> second[0] = scheduler.now));
+
+        scheduler.advance(3);
+        // delay 0 runs on tick 1; the nested timer on the following tick
+        assertEquals(2, second[0]);
+    }
+
+    @Test
+    void stopCancelsEverything() {
+        int[] fired = {0};
+        for (int i = 1; i <= 100; i++) wheel.schedule(null, i * 1_000L, () -> fired[0]++);
+        TimingWheel.Timer repeating = wheel.scheduleRepeating(null, 1, 1, () -> fired[0]++);
+
+        wheel.stop();
+        assertEquals(0, wheel.size());
+        assertTrue(repeating.isCancelled());
+
+        scheduler.advance(200_000);
+        assertEquals(0, fired[0]);
+    }
+
+    /**
+     * Paper-style scheduler whose single global timer is ticked by hand.
+     */
+    private static final class ManualScheduler implements TaskScheduler {
+
+        long now;
+        private Runnable tick;
+
+        void advance(long ticks) {
+            for (long i = 0; i < ticks; i++) {
+                now++;
+                if (tick != null) tick.run();
+            }
+        }
+
+        @Override
+        public boolean regionised() {
+            return false;
+        }
+
+        @Override
+        public void runGlobal(Runnable task) {
+            task.run();
+        }
+
+        @Override
+        public Task runGlobalLater(Runnable task, long delayTicks) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+            tick = task;
+            return () -> tick = null;
+        }
+
+        @Override
+        public void runAt(Location location, Runnable task) {
+            task.run();
+        }
+
+        @Override
+        public void runFor(Entity entity, Runnable task) {
+            task.run();
+        }
+
+        @Override
+        public Task runForLater(Entity entity, Runnable task, long delayTicks) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Task runForTimer(Entity entity, Runnable task, long delayTicks, long periodTicks) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.orangeslices.bossencounters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Alias-method draws against their expected frequencies (seeded, so deterministic).
+ */
+class WeightedSamplerTest {
+
+    private static final int DRAWS = 200_000;
+
+    @Test
+    void emptyAndInvalidWeights() {
+        WeightedSampler<String> sampler = WeightedSampler.<String>builder()
+                .add("zero", 0.0)
+                .add("negative", -2.0)
+                .add("nan", Double.NaN)
+                .add("inf", Double.POSITIVE_INFINITY)
+                .add(null, 1.0)
+                .build();
+
+        assertTrue(sampler.isEmpty());
+        assertSame(WeightedSampler.empty(), sampler);
+        assertNull(sampler.sample(new SplittableRandom(1)));
+        assertTrue(sampler.sampleDistinct(3, new SplittableRandom(1)).isEmpty());
+    }
+
+    @Test
+    void singleItemAlwaysDrawn() {
+        WeightedSampler<String> sampler = WeightedSampler.<String>builder().add("only", 0.25).build();
+        SplittableRandom random = new SplittableRandom(2);
+        for (int i = 0; i < 1_000; i++) assertEquals("only", sampler.sample(random));
+    }
+
+    @Test
+    void drawsFollowWeights() {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        weights.put("common", 60.0);
+        weights.put("uncommon", 25.0);
+        weights.put("rare", 10.0);
+        weights.put("epic", 4.0);
+        weights.put("mythic", 1.0);
+
+        WeightedSampler<String> sampler = WeightedSampler.of(weights);
+        assertEquals(5, sampler.size());
+
+        Map<String, Integer> hits = new LinkedHashMap<>();
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < DRAWS; i++) hits.merge(sampler.sample(random), 1, Integer::sum);
+
+        for (Map.Entry<String, Double> e : weights.entrySet()) {
+            double expected = e.getValue() / 100.0;
+            double actual = hits.getOrDefault(e.getKey(), 0) / (double) DRAWS;
+            assertEquals(expected, actual, 0.005, e.getKey());
+        }
+    }
+
+    @Test
+    void distinctReturnsUniqueItems() {
+        WeightedSampler<Integer> sampler = uniform(10);
+        SplittableRandom random = new SplittableRandom(4);
+
+        for (int k = 0; k <= 12; k++) {
+            List<Integer> picks = sampler.sampleDistinct(k, random);
+            assertEquals(Math.min(k, 10), picks.size());
+            assertEquals(picks.size(), new HashSet<>(picks).size());
+        }
+    }
+
+    @Test
+    void distinctFallbackFinishesLowWeightTail() {
+        // one item holds nearly all the weight, so alias draws keep repeating it
+        WeightedSampler.Builder<Integer> b = WeightedSampler.builder();
+        b.add(0, 1e9);
+        for (int i = 1; i <= 5; i++) b.add(i, 1e-6);
+        WeightedSampler<Integer> sampler = b.build();
+
+        List<Integer> picks = sampler.sampleDistinct(6, new SplittableRandom(5));
+        assertEquals(6, picks.size());
+        assertEquals(6, new HashSet<>(picks).size());
+        assertEquals(Integer.valueOf(0), picks.get(0));
+    }
+
+    @Test
+    void distinctFirstPickFollowsWeights() {
+        WeightedSampler<String> sampler = WeightedSampler.<String>builder()
+                .add("a", 1.0)
+                .add("b", 3.0)
+                .build();
+
+        int firstA = 0;
+        SplittableRandom random = new SplittableRandom(6);
+        for (int i = 0; i < DRAWS; i++) {
+            List<String> picks = sampler.sampleDistinct(2, random);
+            assertEquals(2, picks.size());
+            if (picks.get(0).equals("a")) firstA++;
+        }
+        assertEquals(0.25, firstA / (double) DRAWS, 0.005);
+    }
+
+    private static WeightedSampler<Integer> uniform(int n) {
+        WeightedSampler.Builder<Integer> b = WeightedSampler.builder();
+        for (int i = 0; i < n; i++) b.add(i, 1.0);
+        return b.build();
+    }
+}
@@ -0,0 +1,187 @@
+package com.orangeslices.bossencounters.raffle;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The binary format is what players' items carry, and writing it drops the legacy
+ * string, so both directions (and the migration) have to agree exactly.
+ */
+class RaffleEffectCodecTest {
+
+    /* -------------------------
+       Binary
+       ------------------------- */
+
+    @Test
+    void roundTripKeepsEveryLevel() {
+        EffectVector in = new EffectVector();
+        in.set(RaffleEffectId.VITALITY, 3);
+        in.set(RaffleEffectId.SKYBOUND, 255);
+        in.set(RaffleEffectId.FORTUNE, 1);
+        in.set(RaffleEffectId.DREAD, 1);
+        in.set(RaffleEffectId.REDUCTION, 1);
+
+        assertEquals(in, decode(RaffleEffectCodec.encode(in)));
+    }
+
+    @Test
+    void roundTripEveryEffect() {
+        EffectVector in = new EffectVector();
+        for (RaffleEffectId id : RaffleEffectId.values()) {
+            in.set(id, id.canLevel() ? 7 : 1);
+        }
+        assertEquals(in, decode(RaffleEffectCodec.encode(in)));
+    }
+
+    @Test
+    void layoutIsVersionThenCodeLevelPairs() {
+        EffectVector in = new EffectVector();
+        in.set(RaffleEffectId.IRON_WILL, 2);
+        in.set(RaffleEffectId.ECHOES, 1);
+
+        byte[] data = RaffleEffectCodec.encode(in);
+        assertArrayEquals(new byte[]{
+                RaffleEffectCodec.VERSION,
+                (byte) RaffleEffectId.IRON_WILL.code(), 2,
+                (byte) RaffleEffectId.ECHOES.code(), 1
+        }, data);
+    }
+
+    @Test
+    void emptyVectorIsJustTheVersion() {
+        assertArrayEquals(new byte[]{RaffleEffectCodec.VERSION}, RaffleEffectCodec.encode(new EffectVector()));
+    }
+
+    @Test
+    void unknownVersionReadsAsNoEffects() {
+        byte[] data = {(byte) (RaffleEffectCodec.VERSION + 1), (byte) RaffleEffectId.VITALITY.code(), 2};
+        assertTrue(decode(data).isEmpty());
+    }
+
+    @Test
+    void unknownCodesAreSkipped() {
+        byte[] data = {
+                RaffleEffectCodec.VERSION,
+                0, 3,
+                (byte) 200, 4,
+                (byte) RaffleEffectId.VITALITY.code(), 2
+        };
+
+        EffectVector out = decode(data);
+        assertEquals(1, out.size());
+        assertEquals(2, out.get(RaffleEffectId.VITALITY));
+    }
+
+    @Test
+    void truncatedPayloadsKeepCompletePairs() {
+        assertTrue(decode(new byte[0]).isEmpty());
+        assertTrue(decode(new byte[]{RaffleEffectCodec.VERSION}).isEmpty());
+
+        // trailing code without its level is dropped
+        byte[] data = {
+                RaffleEffectCodec.VERSION,
+                (byte) RaffleEffectId.VITALITY.code(), 2,
+                (byte) RaffleEffectId.SKYBOUND.code()
+        };
+        EffectVector out = decode(data);
+        assertEquals(1, out.size());
+        assertEquals(2, out.get(RaffleEffectId.VITALITY));
+    }
+
+    @Test
+    void levelsAreNormalisedOnRead() {
+        byte[] data = {
+                RaffleEffectCodec.VERSION,
+                (byte) RaffleEffectId.EMBER_WARD.code(), 4,  // non-leveling -> 1
+                (byte) RaffleEffectId.VITALITY.code(), 1,
+                (byte) RaffleEffectId.VITALITY.code(), 3,    // duplicate keeps highest
+                (byte) RaffleEffectId.SKYBOUND.code(), 0     // level 0 -> absent
+        };
+
+        EffectVector out = decode(data);
+        assertEquals(1, out.get(RaffleEffectId.EMBER_WARD));
+        assertEquals(3, out.get(RaffleEffectId.VITALITY));
+        assertEquals(0, out.get(RaffleEffectId.SKYBOUND));
+        assertEquals(2, out.size());
+    }
+
+    @Test
+    void levelsAboveSignedByteSurvive() {
+        byte[] data = {RaffleEffectCodec.VERSION, (byte) RaffleEffectId.VITALITY.code(), (byte) 200};
+        assertEquals(200, decode(data).get(RaffleEffectId.VITALITY));
+    }
+
+    /* -------------------------
+       Legacy CSV migration
+       ------------------------- */
+
+    @Test
+    void legacyStringMatchesBinary() {
+        EffectVector expected = new EffectVector();
+        expected.set(RaffleEffectId.VITALITY, 2);
+        expected.set(RaffleEffectId.EMBER_WARD, 1);
+        expected.set(RaffleEffectId.DREAD, 1);
+
+        EffectVector legacy = new EffectVector();
+        RaffleEffectCodec.decodeLegacy("VITALITY:2,EMBER_WARD:1,DREAD:1", legacy);
+
+        assertEquals(expected, legacy);
+        assertEquals(expected, decode(RaffleEffectCodec.encode(legacy)));
+    }
+
+    @Test
+    void legacyAliasesCaseAndSpacing() {
+        EffectVector out = new EffectVector();
+        RaffleEffectCodec.decodeLegacy(" warmth : 1 ,Vigor:3", out);
+
+        assertEquals(1, out.get(RaffleEffectId.EMBER_WARD));
+        assertEquals(3, out.get(RaffleEffectId.VITALITY));
+        assertEquals(2, out.size());
+    }
+
+    @Test
+    void legacyMalformedParts() {
+        EffectVector out = new EffectVector();
+        RaffleEffectCodec.decodeLegacy("BOGUS:2,SKYBOUND:x,IRON_WILL,FORTUNE:1:2,,BLOOD_MENDING:", out);
+
+        // unknown id and missing / doubled ':' are skipped; unreadable or empty level counts as 1
+        assertEquals(1, out.get(RaffleEffectId.SKYBOUND));
+        assertEquals(1, out.get(RaffleEffectId.BLOOD_MENDING));
+        assertEquals(0, out.get(RaffleEffectId.IRON_WILL));
+        assertEquals(0, out.get(RaffleEffectId.FORTUNE));
+        assertEquals(2, out.size());
+    }
+
+    @Test
+    void legacyDuplicatesKeepHighest() {
+        EffectVector out = new EffectVector();
+        RaffleEffectCodec.decodeLegacy("VITALITY:1,VITALITY:4,VITALITY:2,DREAD:3", out);
+
+        assertEquals(4, out.get(RaffleEffectId.VITALITY));
+        assertEquals(1, out.get(RaffleEffectId.DREAD));
+    }
+
+    @Test
+    void storedBinaryWinsOverLegacy() {
+        EffectVector binary = new EffectVector();
+        binary.set(RaffleEffectId.TERROR, 1);
+
+        EffectVector out = new EffectVector();
+        RaffleEffectCodec.decodeStored(RaffleEffectCodec.encode(binary), "VITALITY:2", out);
+        assertEquals(binary, out);
+
+        EffectVector fallback = new EffectVector();
+        RaffleEffectCodec.decodeStored(null, "VITALITY:2", fallback);
+        assertEquals(2, fallback.get(RaffleEffectId.VITALITY));
+    }
+
+    private static EffectVector decode(byte[] data) {
+        EffectVector out = new EffectVector();
+        RaffleEffectCodec.decode(data, out);
+        return out;
+    }
+}